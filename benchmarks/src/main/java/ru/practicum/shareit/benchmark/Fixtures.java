@@ -0,0 +1,41 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static User owner() {
+        return new User(1L, "Owner", "owner@mail.ru");
+    }
+
+    static User booker() {
+        return new User(2L, "Booker", "booker@mail.ru");
+    }
+
+    static Item item() {
+        return new Item(1L, "Cordless drill", "18V cordless drill with two batteries and a case", true, owner(), null);
+    }
+
+    static Booking booking() {
+        return new Booking(1L, NOW.minusDays(2), NOW.minusDays(1), item(), booker(), BookingStatus.APPROVED, 1L);
+    }
+
+    static BookingDto bookingDto(long id, LocalDateTime start) {
+        return new BookingDto(id, start, start.plusDays(1), 1L, 2L, BookingStatus.APPROVED);
+    }
+
+    static Comment comment() {
+        return new Comment(1L, "Works well, the batteries last all day", item(), booker(), NOW.minusHours(3));
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private ObjectWriter writer;
+    private ObjectReader itemBookingReader;
+    private ObjectReader bookingResponseReader;
+    private ObjectReader itemReader;
+
+    private ItemBookingDto itemBooking;
+    private BookingResponseDto bookingResponse;
+    private ItemDto item;
+    private byte[] itemBookingJson;
+    private byte[] bookingResponseJson;
+    private byte[] itemJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        itemBookingReader = objectMapper.readerFor(ItemBookingDto.class);
+        bookingResponseReader = objectMapper.readerFor(BookingResponseDto.class);
+        itemReader = objectMapper.readerFor(ItemDto.class);
+
+        ItemMapper itemMapper = new ItemMapper();
+        Item source = Fixtures.item();
+        BookingDto lastBooking = Fixtures.bookingDto(1L, Fixtures.NOW.minusDays(2));
+        BookingDto nextBooking = Fixtures.bookingDto(2L, Fixtures.NOW.plusDays(2));
+        itemBooking = itemMapper.toItemBookingDto(source, lastBooking, nextBooking, source.getOwner().getId(),
+                List.of(new CommentMapper().toCommentDto(Fixtures.comment())));
+        bookingResponse = new BookingMapper(new UserMapper()).toBookingResponseDto(Fixtures.booking());
+        item = itemMapper.toItemDto(source);
+
+        itemBookingJson = writer.writeValueAsBytes(itemBooking);
+        bookingResponseJson = writer.writeValueAsBytes(bookingResponse);
+        itemJson = writer.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] writeItemBooking() throws IOException {
+        return writer.writeValueAsBytes(itemBooking);
+    }
+
+    @Benchmark
+    public ItemBookingDto readItemBooking() throws IOException {
+        return itemBookingReader.readValue(itemBookingJson);
+    }
+
+    @Benchmark
+    public byte[] writeBookingResponse() throws IOException {
+        return writer.writeValueAsBytes(bookingResponse);
+    }
+
+    @Benchmark
+    public BookingResponseDto readBookingResponse() throws IOException {
+        return bookingResponseReader.readValue(bookingResponseJson);
+    }
+
+    @Benchmark
+    public byte[] writeItem() throws IOException {
+        return writer.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public ItemDto readItem() throws IOException {
+        return itemReader.readValue(itemJson);
+    }
+}
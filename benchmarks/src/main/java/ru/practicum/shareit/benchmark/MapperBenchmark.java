@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final BookingMapper bookingMapper = new BookingMapper(new UserMapper());
+    private final CommentMapper commentMapper = new CommentMapper();
+
+    private Item item;
+    private ItemDto itemDto;
+    private User owner;
+    private Booking booking;
+    private BookingDto lastBooking;
+    private BookingDto nextBooking;
+    private Comment comment;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        item = Fixtures.item();
+        owner = item.getOwner();
+        itemDto = itemMapper.toItemDto(item);
+        booking = Fixtures.booking();
+        lastBooking = Fixtures.bookingDto(1L, Fixtures.NOW.minusDays(2));
+        nextBooking = Fixtures.bookingDto(2L, Fixtures.NOW.plusDays(2));
+        comment = Fixtures.comment();
+        comments = List.of(commentMapper.toCommentDto(comment));
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public Item dtoToItem() {
+        return itemMapper.toItem(itemDto, owner, null);
+    }
+
+    @Benchmark
+    public ItemBookingDto itemToBookingDto() {
+        return itemMapper.toItemBookingDto(item, lastBooking, nextBooking, owner.getId(), comments);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToResponseDto() {
+        return bookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return commentMapper.toCommentDto(comment);
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int ITEMS = 100;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int COMMENTS_PER_ITEM = 3;
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    private long ownerId;
+    private long bookerId;
+    private long[] itemIds;
+    private long[] bookingIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.show-sql=false");
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemBookingDto getItem() {
+        return itemService.get(itemIds[ThreadLocalRandom.current().nextInt(itemIds.length)], ownerId);
+    }
+
+    @Benchmark
+    public Collection<ItemBookingDto> getItemsByOwner() {
+        return itemService.getAllByUser(ownerId);
+    }
+
+    @Benchmark
+    public Collection<ItemDto> searchItems() {
+        return itemService.search("drill", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BookingResponseDto getBooking() {
+        return bookingService.getById(bookingIds[ThreadLocalRandom.current().nextInt(bookingIds.length)], bookerId);
+    }
+
+    @Benchmark
+    public Window<BookingResponseDto> getBookingsByBooker() {
+        return bookingService.getByUser(bookerId, "ALL", ScrollPosition.keyset(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Window<BookingResponseDto> getBookingsByOwner() {
+        return bookingService.getByOwner(ownerId, "PAST", ScrollPosition.keyset(), PAGE_SIZE);
+    }
+
+    private void seed() {
+        UserService userService = context.getBean(UserService.class);
+        ownerId = userService.create(new UserDto(null, "Owner", "owner@mail.ru")).getId();
+        bookerId = userService.create(new UserDto(null, "Booker", "booker@mail.ru")).getId();
+        itemIds = itemService.createAll(IntStream.range(0, ITEMS)
+                        .mapToObj(i -> new ItemDto(null, (i % 2 == 0 ? "Drill " : "Saw ") + i,
+                                "Cordless tool number " + i, true, null))
+                        .toList(), ownerId).stream()
+                .mapToLong(ItemDto::getId)
+                .toArray();
+
+        User booker = context.getBean(UserRepository.class).findById(bookerId).orElseThrow();
+        List<Item> items = context.getBean(ItemRepository.class).findAllByOwnerId(ownerId);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : items) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = now.plusDays((i - BOOKINGS_PER_ITEM / 2) * 2L);
+                bookings.add(new Booking(null, start, start.plusDays(1), item, booker, BookingStatus.APPROVED, null));
+            }
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+                comments.add(new Comment(null, "Comment " + i, item, booker, now.minusDays(i)));
+            }
+        }
+        bookingIds = context.getBean(BookingRepository.class).saveAll(bookings).stream()
+                .mapToLong(Booking::getId)
+                .toArray();
+        context.getBean(CommentRepository.class).saveAll(comments);
+    }
+}
@@ -2,26 +2,31 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -30,12 +35,20 @@ public class BookingClient extends BaseClient {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> getByUser(Long userId, String state) {
-        return get("?state={state}", userId, Map.of("state", state));
+    public ResponseEntity<Object> getByUser(Long userId, String state, Integer size, String cursor) {
+        return get("?state={state}&size={size}&cursor={cursor}", userId, pageParameters(state, size, cursor));
     }
 
-    public ResponseEntity<Object> getByOwner(Long userId, String state) {
-        return get("/owner?state={state}", userId, Map.of("state", state));
+    public ResponseEntity<Object> getByOwner(Long userId, String state, Integer size, String cursor) {
+        return get("/owner?state={state}&size={size}&cursor={cursor}", userId, pageParameters(state, size, cursor));
+    }
+
+    public ResponseEntity<Object> exportByUser(Long userId, String format, boolean gzip) {
+        return get("/export?format={format}&gzip={gzip}", userId, exportParameters(format, gzip));
+    }
+
+    public ResponseEntity<Object> exportByOwner(Long userId, String format, boolean gzip) {
+        return get("/owner/export?format={format}&gzip={gzip}", userId, exportParameters(format, gzip));
     }
 
     public ResponseEntity<Object> create(BookingDto booking, Long userId) {
@@ -45,4 +58,21 @@ public class BookingClient extends BaseClient {
     public ResponseEntity<Object> approve(Long id, boolean approved, Long userId) {
         return patch("/" + id + "?approved={approved}", userId, Map.of("approved", approved), null);
     }
+
+    public ResponseEntity<Object> approveAll(List<BookingApprovalDto> approvals, Long userId) {
+        return patch("/approve", userId, approvals);
+    }
+
+    private static Map<String, Object> exportParameters(String format, boolean gzip) {
+        return Map.of(
+                "format", format,
+                "gzip", gzip);
+    }
+
+    private static Map<String, Object> pageParameters(String state, Integer size, String cursor) {
+        return Map.of(
+                "state", state,
+                "size", size == null ? "" : size,
+                "cursor", cursor == null ? "" : cursor);
+    }
 }
@@ -1,6 +1,11 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,13 +15,19 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
+import java.util.List;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_APPROVALS = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
     private final BookingClient bookingClient;
     private final BookingValidationService bookingValidationService;
 
@@ -27,14 +38,32 @@ public class BookingController {
 
     @GetMapping
     public Object getByUser(@RequestParam(defaultValue = "ALL") String state,
+                            @RequestParam(required = false) @Positive @Max(MAX_PAGE_SIZE) Integer size,
+                            @RequestParam(required = false) String cursor,
                             @RequestHeader(USER_ID_HEADER) Long userId) {
-        return bookingClient.getByUser(userId, state);
+        return bookingClient.getByUser(userId, state, size, cursor);
     }
 
     @GetMapping("/owner")
     public Object getByOwner(@RequestParam(defaultValue = "ALL") String state,
+                             @RequestParam(required = false) @Positive @Max(MAX_PAGE_SIZE) Integer size,
+                             @RequestParam(required = false) String cursor,
                              @RequestHeader(USER_ID_HEADER) Long userId) {
-        return bookingClient.getByOwner(userId, state);
+        return bookingClient.getByOwner(userId, state, size, cursor);
+    }
+
+    @GetMapping("/export")
+    public Object exportByUser(@RequestParam(defaultValue = "ndjson") String format,
+                               @RequestParam(defaultValue = "false") boolean gzip,
+                               @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.exportByUser(userId, format, gzip);
+    }
+
+    @GetMapping("/owner/export")
+    public Object exportByOwner(@RequestParam(defaultValue = "ndjson") String format,
+                                @RequestParam(defaultValue = "false") boolean gzip,
+                                @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.exportByOwner(userId, format, gzip);
     }
 
     @PostMapping
@@ -48,4 +77,11 @@ public class BookingController {
                           @RequestHeader(USER_ID_HEADER) Long userId) {
         return bookingClient.approve(id, approved, userId);
     }
+
+    @PatchMapping("/approve")
+    public Object approveAll(
+            @RequestBody @Size(min = 1, max = MAX_APPROVALS) List<@Valid BookingApprovalDto> approvals,
+            @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.approveAll(approvals, userId);
+    }
 }
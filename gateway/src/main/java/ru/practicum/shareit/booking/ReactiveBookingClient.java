@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(Long id, Long userId) {
+        return get("/" + id, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByUser(Long userId, String state, Integer size, String cursor) {
+        return get("?state={state}&size={size}&cursor={cursor}", userId, pageParameters(state, size, cursor));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByOwner(Long userId, String state, Integer size, String cursor) {
+        return get("/owner?state={state}&size={size}&cursor={cursor}", userId, pageParameters(state, size, cursor));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByUser(Long userId, String format, boolean gzip) {
+        return get("/export?format={format}&gzip={gzip}", userId, exportParameters(format, gzip));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByOwner(Long userId, String format, boolean gzip) {
+        return get("/owner/export?format={format}&gzip={gzip}", userId, exportParameters(format, gzip));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(BookingDto booking, Long userId) {
+        return post("", userId, booking);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approve(Long id, boolean approved, Long userId) {
+        return patch("/" + id + "?approved={approved}", userId, Map.of("approved", approved), null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveAll(List<BookingApprovalDto> approvals, Long userId) {
+        return patch("/approve", userId, approvals);
+    }
+
+    private static Map<String, Object> exportParameters(String format, boolean gzip) {
+        return Map.of(
+                "format", format,
+                "gzip", gzip);
+    }
+
+    private static Map<String, Object> pageParameters(String state, Integer size, String cursor) {
+        return Map.of(
+                "state", state,
+                "size", size == null ? "" : size,
+                "cursor", cursor == null ? "" : cursor);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+public class ReactiveBookingController {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_APPROVALS = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private final ReactiveBookingClient bookingClient;
+    private final BookingValidationService bookingValidationService;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@PathVariable Long id, @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.getById(id, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByUser(@RequestParam(defaultValue = "ALL") String state,
+                                                            @RequestParam(required = false) @Positive @Max(MAX_PAGE_SIZE) Integer size,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.getByUser(userId, state, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByOwner(@RequestParam(defaultValue = "ALL") String state,
+                                                             @RequestParam(required = false) @Positive @Max(MAX_PAGE_SIZE) Integer size,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.getByOwner(userId, state, size, cursor);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByUser(@RequestParam(defaultValue = "ndjson") String format,
+                                                               @RequestParam(defaultValue = "false") boolean gzip,
+                                                               @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.exportByUser(userId, format, gzip);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByOwner(@RequestParam(defaultValue = "ndjson") String format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip,
+                                                                @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.exportByOwner(userId, format, gzip);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestBody BookingDto booking, @RequestHeader(USER_ID_HEADER) Long userId) {
+        bookingValidationService.validateBookingDates(booking.getStart(), booking.getEnd());
+        return bookingClient.create(booking, userId);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approve(@PathVariable Long id, @RequestParam boolean approved,
+                                                          @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.approve(id, approved, userId);
+    }
+
+    @PatchMapping("/approve")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveAll(
+            @RequestBody @Size(min = 1, max = MAX_APPROVALS) List<@Valid BookingApprovalDto> approvals,
+            @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingClient.approveAll(approvals, userId);
+    }
+}
@@ -1,22 +1,59 @@
 package ru.practicum.shareit.client;
 
+import io.micrometer.observation.Observation;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, "X-Next-Cursor");
+
+    private static final ClientRequestObservationConvention OBSERVATION_CONVENTION =
+            new DefaultClientRequestObservationConvention();
+
     protected final RestTemplate rest;
+    @Nullable
+    private final ResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache) {
         this.rest = rest;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -79,20 +116,131 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> postStream(String path, Long userId, MediaType contentType,
+                                                StreamingHttpOutputMessage.Body body) {
+        URI uri = expand(path, null);
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.POST);
+            return prepareGatewayResponse(execute(request, streamingRequest -> {
+                streamingRequest.getHeaders().addAll(defaultHeaders(userId));
+                streamingRequest.getHeaders().setContentType(contentType);
+                streamingRequest.getHeaders().setAccept(List.of(contentType, MediaType.APPLICATION_JSON));
+                if (streamingRequest instanceof StreamingHttpOutputMessage streaming) {
+                    streaming.setBody(body);
+                } else {
+                    body.writeTo(streamingRequest.getBody());
+                }
+            }));
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка запроса POST " + uri + ": " + e.getMessage(), e);
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method == HttpMethod.GET && responseCache != null) {
+            return makeAndSendConditionalGet(responseCache, path, userId, parameters);
+        }
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return prepareGatewayResponse(exchange(method, path, parameters, requestEntity));
+    }
+
+    private ResponseEntity<Object> makeAndSendConditionalGet(ResponseCache cache, String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String key = userId + " " + expand(path, parameters);
+        ResponseCache.Entry cached = cache.get(key);
+        List<String> clientETags = clientETags();
 
-        ResponseEntity<Object> shareitServerResponse;
+        HttpHeaders headers = defaultHeaders(userId);
+        List<String> eTags = new ArrayList<>(clientETags);
+        if (cached != null) {
+            eTags.add(cached.getETag());
+        }
+        if (!eTags.isEmpty()) {
+            headers.setIfNoneMatch(eTags);
+        }
+        ClientHttpResponse response = exchange(HttpMethod.GET, path, parameters, new HttpEntity<>(headers));
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            HttpStatusCode status = response.getStatusCode();
+            String eTag = response.getHeaders().getETag();
+
+            if (status == HttpStatus.NOT_MODIFIED) {
+                response.close();
+                if (clientETags.contains(eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                }
+                if (cached != null && cached.getETag().equals(eTag)) {
+                    return new ResponseEntity<>(cached.getBody(), cached.getHeaders(), HttpStatus.OK);
+                }
+                cache.remove(key);
+                return prepareGatewayResponse(exchange(HttpMethod.GET, path, parameters, new HttpEntity<>(defaultHeaders(userId))));
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            if (status.is2xxSuccessful() && eTag != null && response.getHeaders().getContentLength() <= cache.getMaxEntryBytes()) {
+                byte[] body = response.getBody().readNBytes(cache.getMaxEntryBytes() + 1);
+                if (body.length <= cache.getMaxEntryBytes()) {
+                    response.close();
+                    HttpHeaders forwarded = forwardedHeaders(response.getHeaders());
+                    cache.put(key, new ResponseCache.Entry(eTag, forwarded, body));
+                    return new ResponseEntity<>(body, forwarded, status);
+                }
+                cache.remove(key);
+                return prepareGatewayResponse(response, body);
+            }
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("Ошибка чтения ответа сервера: " + e.getMessage(), e);
+        }
+        cache.remove(key);
+        return prepareGatewayResponse(response);
+    }
+
+    private <T> ClientHttpResponse exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+        URI uri = expand(path, parameters);
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            return execute(request, rest.httpEntityCallback(requestEntity));
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка запроса " + method + " " + uri + ": " + e.getMessage(), e);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private ClientHttpResponse execute(ClientHttpRequest request, RequestCallback callback) throws IOException {
+        ClientRequestObservationContext context = new ClientRequestObservationContext(request);
+        context.setUriTemplate(gatewayRoute());
+        Observation observation = ClientHttpObservationDocumentation.HTTP_CLIENT_EXCHANGES
+                .observation(null, OBSERVATION_CONVENTION, () -> context, rest.getObservationRegistry())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            callback.doWithRequest(request);
+            ClientHttpResponse response = request.execute();
+            context.setResponse(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    @Nullable
+    private static String gatewayRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes != null
+                ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        return pattern != null ? pattern.toString() : null;
+    }
+
+    private static List<String> clientETags() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return new ServletServerHttpRequest(attributes.getRequest()).getHeaders().getIfNoneMatch();
+        }
+        return Collections.emptyList();
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,17 +253,40 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) {
+        return prepareGatewayResponse(response, new byte[0]);
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response, byte[] readAhead) {
+        try {
+            HttpStatusCode status = response.getStatusCode();
+            HttpHeaders headers = forwardedHeaders(response.getHeaders());
+            if (status == HttpStatus.NOT_MODIFIED || status == HttpStatus.NO_CONTENT) {
+                response.close();
+                return new ResponseEntity<>(headers, status);
+            }
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                attributes.registerDestructionCallback(ClientHttpResponse.class.getName() + "@" + System.identityHashCode(response),
+                        response::close, RequestAttributes.SCOPE_REQUEST);
+            }
+            InputStream body = readAhead.length == 0
+                    ? response.getBody()
+                    : new SequenceInputStream(new ByteArrayInputStream(readAhead), response.getBody());
+            return new ResponseEntity<>(new InputStreamResource(body), headers, status);
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("Ошибка чтения ответа сервера: " + e.getMessage(), e);
         }
+    }
 
-        return responseBuilder.build();
+    private static HttpHeaders forwardedHeaders(HttpHeaders upstream) {
+        HttpHeaders headers = new HttpHeaders();
+        FORWARDED_RESPONSE_HEADERS.forEach(name -> {
+            List<String> values = upstream.get(name);
+            if (values != null) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
     }
 }
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResponseCache {
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+    private final long maxBytes;
+    @Getter
+    private final int maxEntryBytes;
+    private long bytes;
+
+    public ResponseCache(@Value("${shareit-gateway.response-cache.max-entries}") int maxEntries,
+                         @Value("${shareit-gateway.response-cache.max-size}") DataSize maxSize,
+                         @Value("${shareit-gateway.response-cache.max-entry-size}") DataSize maxEntrySize) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxSize.toBytes();
+        this.maxEntryBytes = Math.toIntExact(maxEntrySize.toBytes());
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        remove(key);
+        if (entry.getBody().length > maxEntryBytes) {
+            return;
+        }
+        entries.put(key, entry);
+        bytes += entry.getBody().length;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            bytes -= eldest.next().getBody().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.getBody().length;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final String eTag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+    }
+}
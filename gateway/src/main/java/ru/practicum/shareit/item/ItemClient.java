@@ -2,47 +2,87 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.importer.ItemImportParser;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private final ItemImportParser itemImportParser;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                      ItemImportParser itemImportParser) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
+        this.itemImportParser = itemImportParser;
     }
 
     public ResponseEntity<Object> getById(Long id, Long userId) {
         return get("/" + id, userId);
     }
 
+    public ResponseEntity<Object> getAvailability(Long id, Long userId, LocalDateTime from, LocalDateTime to) {
+        return get("/" + id + "/availability?from={from}&to={to}", userId,
+                Map.of(
+                        "from", from,
+                        "to", to));
+    }
+
     public ResponseEntity<Object> getAllByUser(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> search(Long userId, String text) {
-        return get("?text={text}", userId, Map.of("text", text));
+    public ResponseEntity<Object> search(Long userId, String text, Integer from, Integer size) {
+        return get("/search?text={text}&from={from}&size={size}", userId,
+                Map.of(
+                        "text", text,
+                        "from", from,
+                        "size", size));
+    }
+
+    public ResponseEntity<Object> exportByOwner(Long userId, String format, boolean gzip) {
+        return get("/export?format={format}&gzip={gzip}", userId,
+                Map.of(
+                        "format", format,
+                        "gzip", gzip));
     }
 
     public ResponseEntity<Object> create(ItemDto item, Long userId) {
         return post("", userId, item);
     }
 
+    public ResponseEntity<Object> createAll(List<ItemDto> items, Long userId) {
+        return post("/batch", userId, items);
+    }
+
+    public ResponseEntity<Object> importItems(Long userId, MediaType contentType, InputStream body) {
+        return postStream("/import", userId, MediaType.valueOf(ItemImportParser.NDJSON),
+                output -> itemImportParser.transfer(body, contentType, output));
+    }
+
     public ResponseEntity<Object> comment(Long itemId, Long userId, CommentDto comment) {
         return post("/" + itemId + "/comment", userId, comment);
     }
@@ -1,7 +1,14 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,14 +20,20 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.importer.ItemImportParser;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_BATCH_SIZE = 1000;
     private final ItemClient itemClient;
 
     @GetMapping("/{id}")
@@ -29,6 +42,14 @@ public class ItemController {
         return itemClient.getById(id, userId);
     }
 
+    @GetMapping("/{id}/availability")
+    public Object getAvailability(@PathVariable Long id,
+                                  @RequestHeader(USER_ID_HEADER) Long userId,
+                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getAvailability(id, userId, from, to);
+    }
+
     @GetMapping
     public Object getAllByUser(@RequestHeader(USER_ID_HEADER) Long userId) {
         return itemClient.getAllByUser(userId);
@@ -36,8 +57,17 @@ public class ItemController {
 
     @GetMapping("/search")
     public Object search(@RequestHeader(USER_ID_HEADER) Long userId,
-                                         @RequestParam String text) {
-        return itemClient.search(userId, text);
+                         @RequestParam String text,
+                         @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                         @RequestParam(defaultValue = "10") @Positive Integer size) {
+        return itemClient.search(userId, text, from, size);
+    }
+
+    @GetMapping("/export")
+    public Object exportByOwner(@RequestParam(defaultValue = "ndjson") String format,
+                                @RequestParam(defaultValue = "false") boolean gzip,
+                                @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemClient.exportByOwner(userId, format, gzip);
     }
 
     @PostMapping
@@ -46,6 +76,20 @@ public class ItemController {
         return itemClient.create(item, userId);
     }
 
+    @PostMapping("/batch")
+    public Object createAll(
+            @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<@Valid ItemDto> items,
+            @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemClient.createAll(items, userId);
+    }
+
+    @PostMapping(path = "/import", consumes = {ItemImportParser.TEXT_CSV, ItemImportParser.NDJSON})
+    public Object importItems(@RequestHeader(USER_ID_HEADER) Long userId,
+                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                              InputStream body) {
+        return itemClient.importItems(userId, contentType, body);
+    }
+
     @PostMapping("/{itemId}/comment")
     public Object comment(@PathVariable Long itemId,
                           @RequestHeader(USER_ID_HEADER) Long userId,
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+import ru.practicum.shareit.item.importer.ItemImportParser;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+    private static final StringDecoder LINES = StringDecoder.textPlainOnly();
+    private final ItemImportParser itemImportParser;
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector, ItemImportParser itemImportParser) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+        this.itemImportParser = itemImportParser;
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(Long id, Long userId) {
+        return get("/" + id, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(Long id, Long userId, LocalDateTime from, LocalDateTime to) {
+        return get("/" + id + "/availability?from={from}&to={to}", userId,
+                Map.of(
+                        "from", from,
+                        "to", to));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByUser(Long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(Long userId, String text, Integer from, Integer size) {
+        return get("/search?text={text}&from={from}&size={size}", userId,
+                Map.of(
+                        "text", text,
+                        "from", from,
+                        "size", size));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByOwner(Long userId, String format, boolean gzip) {
+        return get("/export?format={format}&gzip={gzip}", userId,
+                Map.of(
+                        "format", format,
+                        "gzip", gzip));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(ItemDto item, Long userId) {
+        return post("", userId, item);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createAll(List<ItemDto> items, Long userId) {
+        return post("/batch", userId, items);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(Long userId, MediaType contentType,
+                                                              Flux<DataBuffer> body) {
+        ItemImportParser.Session session = itemImportParser.session(contentType);
+        Charset charset = Optional.ofNullable(contentType.getCharset()).orElse(StandardCharsets.UTF_8);
+        Flux<ItemImportRowDto> rows = LINES.decode(body, ResolvableType.forClass(String.class),
+                        new MimeType(MimeTypeUtils.TEXT_PLAIN, charset), null)
+                .concatMap(line -> Mono.justOrEmpty(session.next(line)))
+                .concatWith(Mono.defer(() -> Mono.justOrEmpty(session.finish())));
+        return postStream("/import", userId, MediaType.valueOf(ItemImportParser.NDJSON), rows, ItemImportRowDto.class);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> comment(Long itemId, Long userId, CommentDto comment) {
+        return post("/" + itemId + "/comment", userId, comment);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> edit(Long itemId, Long userId, Map<String, Object> updates) {
+        return patch("/" + itemId, userId, updates);
+    }
+}
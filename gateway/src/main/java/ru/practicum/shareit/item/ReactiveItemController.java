@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.importer.ItemImportParser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/items")
+@RequiredArgsConstructor
+public class ReactiveItemController {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_BATCH_SIZE = 1000;
+    private final ReactiveItemClient itemClient;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(@PathVariable Long id,
+                                                      @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemClient.getById(id, userId);
+    }
+
+    @GetMapping("/{id}/availability")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(@PathVariable Long id,
+                                                                  @RequestHeader(USER_ID_HEADER) Long userId,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getAvailability(id, userId, from, to);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByUser(@RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemClient.getAllByUser(userId);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                         @RequestParam String text,
+                                                         @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                         @RequestParam(defaultValue = "10") @Positive Integer size) {
+        return itemClient.search(userId, text, from, size);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByOwner(@RequestParam(defaultValue = "ndjson") String format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip,
+                                                                @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemClient.exportByOwner(userId, format, gzip);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@Valid @RequestBody ItemDto item,
+                                                         @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemClient.create(item, userId);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createAll(
+            @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<@Valid ItemDto> items,
+            @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemClient.createAll(items, userId);
+    }
+
+    @PostMapping(path = "/import", consumes = {ItemImportParser.TEXT_CSV, ItemImportParser.NDJSON})
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                              @RequestBody Flux<DataBuffer> body) {
+        return itemClient.importItems(userId, contentType, body);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> comment(@PathVariable Long itemId,
+                                                          @RequestHeader(USER_ID_HEADER) Long userId,
+                                                          @RequestBody @Valid CommentDto comment) {
+        return itemClient.comment(itemId, userId, comment);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> edit(@PathVariable Long itemId,
+                                                       @RequestHeader(USER_ID_HEADER) Long userId,
+                                                       @RequestBody Map<String, Object> updates) {
+        return itemClient.edit(itemId, userId, updates);
+    }
+}
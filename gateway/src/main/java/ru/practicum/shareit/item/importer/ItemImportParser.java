@@ -0,0 +1,196 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemImportParser {
+    public static final String TEXT_CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+    static final int MAX_RECORD_LINES = 100;
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public Session session(MediaType contentType) {
+        return new Session(MediaType.valueOf(TEXT_CSV).isCompatibleWith(contentType));
+    }
+
+    public void transfer(InputStream input, MediaType contentType, OutputStream output) throws IOException {
+        Charset charset = Optional.ofNullable(contentType.getCharset()).orElse(StandardCharsets.UTF_8);
+        Session session = session(contentType);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, charset));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Optional<ItemImportRowDto> row = session.next(line);
+            if (row.isPresent()) {
+                write(row.get(), output);
+            }
+        }
+        Optional<ItemImportRowDto> last = session.finish();
+        if (last.isPresent()) {
+            write(last.get(), output);
+        }
+    }
+
+    private void write(ItemImportRowDto row, OutputStream output) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(row));
+        output.write('\n');
+    }
+
+    public final class Session {
+        private final boolean csv;
+        private Map<String, Integer> columns;
+        private StringBuilder record;
+        private int recordLines;
+        private long row;
+
+        private Session(boolean csv) {
+            this.csv = csv;
+        }
+
+        public Optional<ItemImportRowDto> next(String line) {
+            if (!csv) {
+                return line.isBlank() ? Optional.empty() : Optional.of(parseJson(line));
+            }
+            if (record != null) {
+                record.append('\n').append(line);
+                recordLines++;
+            } else if (line.isBlank()) {
+                return Optional.empty();
+            } else {
+                record = new StringBuilder(line);
+                recordLines = 1;
+            }
+            if (!balanced(record)) {
+                if (recordLines < MAX_RECORD_LINES && record.length() < MAX_RECORD_LENGTH) {
+                    return Optional.empty();
+                }
+                record = null;
+                return Optional.of(new ItemImportRowDto(++row, null, "Незакрытые кавычки в строке CSV: запись длиннее "
+                        + MAX_RECORD_LINES + " строк или " + MAX_RECORD_LENGTH + " символов"));
+            }
+            List<String> values = split(record);
+            record = null;
+            if (columns == null) {
+                columns = new HashMap<>();
+                for (int i = 0; i < values.size(); i++) {
+                    columns.put(values.get(i).trim(), i);
+                }
+                return Optional.empty();
+            }
+            return Optional.of(parseCsv(values));
+        }
+
+        public Optional<ItemImportRowDto> finish() {
+            if (record == null) {
+                return Optional.empty();
+            }
+            record = null;
+            return Optional.of(new ItemImportRowDto(++row, null, "Незакрытые кавычки в строке CSV"));
+        }
+
+        private ItemImportRowDto parseJson(String line) {
+            row++;
+            try {
+                return validate(objectMapper.readValue(line, ItemDto.class));
+            } catch (JsonProcessingException e) {
+                return new ItemImportRowDto(row, null, "Некорректный JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        private ItemImportRowDto parseCsv(List<String> values) {
+            row++;
+            try {
+                String available = column(values, "available");
+                String requestId = column(values, "requestId");
+                return validate(new ItemDto(null,
+                        column(values, "name"),
+                        column(values, "description"),
+                        available != null ? parseBoolean(available) : null,
+                        requestId != null ? Long.valueOf(requestId) : null));
+            } catch (IllegalArgumentException e) {
+                return new ItemImportRowDto(row, null, "Некорректное значение: " + e.getMessage());
+            }
+        }
+
+        private ItemImportRowDto validate(ItemDto item) {
+            String error = validator.validate(item).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return error.isEmpty() ? new ItemImportRowDto(row, item, null) : new ItemImportRowDto(row, null, error);
+        }
+
+        private String column(List<String> values, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+                return null;
+            }
+            return values.get(index);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException(value);
+        }
+        return Boolean.valueOf(value);
+    }
+
+    private static boolean balanced(CharSequence record) {
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quoted = !quoted;
+            }
+        }
+        return !quoted;
+    }
+
+    private static List<String> split(CharSequence record) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 public class ItemRequestController {
@@ -32,11 +36,18 @@ public class ItemRequestController {
 
     @GetMapping("/all")
     public Object getAllOthers(@RequestHeader(USER_ID_HEADER) Long userId,
-                                               @RequestParam Integer from,
-                                               @RequestParam Integer size) {
+                                               @RequestParam @PositiveOrZero Integer from,
+                                               @RequestParam @Positive Integer size) {
         return itemRequestClient.getAllOthers(userId, from, size);
     }
 
+    @GetMapping(path = "/all", params = "cursor")
+    public Object getAllOthersAfter(@RequestHeader(USER_ID_HEADER) Long userId,
+                                    @RequestParam String cursor,
+                                    @RequestParam(defaultValue = "20") @Positive Integer size) {
+        return itemRequestClient.getAllOthersAfter(userId, cursor, size);
+    }
+
     @PostMapping
     public Object create(@RequestHeader(USER_ID_HEADER) Long userId,
                                          @RequestBody @Valid ItemRequestDto itemRequest) {
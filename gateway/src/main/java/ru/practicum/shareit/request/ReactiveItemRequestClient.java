@@ -0,0 +1,59 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                     ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllSelf(Long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(Long id, Long userId) {
+        return get("/" + id, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllOthers(Long userId, Integer from, Integer size) {
+        return get("/all?from={from}&size={size}", userId,
+                Map.of(
+                        "from", from,
+                        "size", size));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllOthersAfter(Long userId, String cursor, Integer size) {
+        return get("/all?cursor={cursor}&size={size}", userId,
+                Map.of(
+                        "cursor", cursor,
+                        "size", size));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(Long userId, ItemRequestDto itemRequest) {
+        return post("", userId, itemRequest);
+    }
+}
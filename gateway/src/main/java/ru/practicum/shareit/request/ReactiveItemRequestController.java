@@ -0,0 +1,60 @@
+package ru.practicum.shareit.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+public class ReactiveItemRequestController {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllSelf(@RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemRequestClient.getAllSelf(userId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@PathVariable Long id,
+                                                          @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemRequestClient.getById(id, userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllOthers(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                               @RequestParam @PositiveOrZero Integer from,
+                                                               @RequestParam @Positive Integer size) {
+        return itemRequestClient.getAllOthers(userId, from, size);
+    }
+
+    @GetMapping(path = "/all", params = "cursor")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllOthersAfter(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                                    @RequestParam String cursor,
+                                                                    @RequestParam(defaultValue = "20") @Positive Integer size) {
+        return itemRequestClient.getAllOthersAfter(userId, cursor, size);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                         @RequestBody @Valid ItemRequestDto itemRequest) {
+        return itemRequestClient.create(userId, itemRequest);
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -15,12 +17,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 public class UserController {
+    private static final int MAX_BATCH_SIZE = 1000;
     private final UserClient userClient;
 
     @GetMapping("/{id}")
@@ -39,6 +44,12 @@ public class UserController {
         return userClient.create(user);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<Object> createAll(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<@Valid UserDto> users) {
+        return userClient.createAll(users);
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<Object> edit(@PathVariable Long id, @RequestBody Map<String, Object> updates) {
         return userClient.edit(id, updates);
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.client.StubServer;
+import ru.practicum.shareit.client.StubServerConfig;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+
+@WebFluxTest(ReactiveBookingController.class)
+@Import({ReactiveBookingClient.class, BookingValidationService.class, StubServerConfig.class})
+class ReactiveBookingControllerITest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private StubServer stubServer;
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+    }
+
+    @Test
+    void getBookingsByUserWithoutSizeIsUnpaged() {
+        stubServer.respond(HttpStatus.OK, headers -> headers.setContentType(MediaType.APPLICATION_JSON), "[]");
+
+        webTestClient.get().uri("/bookings?state=PAST")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(URI.create("http://localhost:9090/bookings?state=PAST&size=&cursor="), request.url());
+        Assertions.assertEquals("1", request.headers().getFirst(USER_ID_HEADER));
+    }
+
+    @Test
+    void getBookingsByOwnerPassesNextCursorThrough() {
+        stubServer.respond(HttpStatus.OK, headers -> {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("X-Next-Cursor", "next");
+        }, "[]");
+
+        webTestClient.get().uri("/bookings/owner?size=1&cursor=abc")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "next");
+
+        Assertions.assertEquals(URI.create("http://localhost:9090/bookings/owner?state=ALL&size=1&cursor=abc"),
+                stubServer.lastRequest().url());
+    }
+
+    @Test
+    void getBookingsWithInvalidSize() {
+        webTestClient.get().uri("/bookings?size=0")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/bookings/owner?size=1001")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Assertions.assertTrue(stubServer.requests().isEmpty());
+    }
+
+    @Test
+    void createBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        webTestClient.post().uri("/bookings")
+                .header(USER_ID_HEADER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemId\":2,\"start\":\"" + start + "\",\"end\":\"" + start.plusDays(1) + "\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(HttpMethod.POST, request.method());
+        Assertions.assertEquals(URI.create("http://localhost:9090/bookings"), request.url());
+        Assertions.assertTrue(request.body().contains("\"itemId\":2"));
+    }
+
+    @Test
+    void approveBooking() {
+        webTestClient.patch().uri("/bookings/3?approved=true")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(HttpMethod.PATCH, request.method());
+        Assertions.assertEquals(URI.create("http://localhost:9090/bookings/3?approved=true"), request.url());
+    }
+
+    @Test
+    void approveEmptyBatch() {
+        webTestClient.patch().uri("/bookings/approve")
+                .header(USER_ID_HEADER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Assertions.assertTrue(stubServer.requests().isEmpty());
+    }
+}
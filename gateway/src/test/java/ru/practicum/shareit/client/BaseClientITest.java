@@ -0,0 +1,318 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseActions;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientITest {
+    private static final String SERVER_URL = "http://localhost:9090/users";
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String V1 = "\"v1\"";
+    private static final String V2 = "\"v2\"";
+    private static final String BODY_V1 = "{\"id\":1,\"name\":\"First\"}";
+    private static final String BODY_V2 = "{\"id\":1,\"name\":\"Second\"}";
+
+    private MockRestServiceServer server;
+    private TestClient client;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        rest.setObservationRegistry(observationRegistry);
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest, new ResponseCache(2, DataSize.ofBytes(50), DataSize.ofBytes(30)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void firstGetIsUnconditionalAndCachesBody() {
+        expectGet("/1").andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+
+        ResponseEntity<Object> response = client.getById(1);
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(V1, response.getHeaders().getETag());
+        Assertions.assertEquals(BODY_V1, body(response));
+    }
+
+    @Test
+    void notModifiedReplaysCachedBody() {
+        expectGet("/1").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/1").andExpect(header(HttpHeaders.IF_NONE_MATCH, V1))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, V1));
+
+        client.getById(1);
+        ResponseEntity<Object> response = client.getById(1);
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(V1, response.getHeaders().getETag());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals(BODY_V1, body(response));
+    }
+
+    @Test
+    void notModifiedForCallerTagIsPassedOn() {
+        expectGet("/1").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/1").andExpect(header(HttpHeaders.IF_NONE_MATCH, V1 + ", " + V1))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, V1));
+
+        client.getById(1);
+        callerSends(V1);
+        ResponseEntity<Object> response = client.getById(1);
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        Assertions.assertEquals(V1, response.getHeaders().getETag());
+        Assertions.assertNull(response.getBody());
+    }
+
+    @Test
+    void changedResourceReplacesCachedEtag() {
+        expectGet("/1").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/1").andExpect(header(HttpHeaders.IF_NONE_MATCH, V1))
+                .andRespond(withSuccess(BODY_V2, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V2));
+        expectGet("/1").andExpect(header(HttpHeaders.IF_NONE_MATCH, V2))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, V2));
+
+        client.getById(1);
+        Assertions.assertEquals(BODY_V2, body(client.getById(1)));
+        ResponseEntity<Object> response = client.getById(1);
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(V2, response.getHeaders().getETag());
+        Assertions.assertEquals(BODY_V2, body(response));
+    }
+
+    @Test
+    void notModifiedForUnknownEtagRefetchesUnconditionally() {
+        expectGet("/1").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/1").andExpect(header(HttpHeaders.IF_NONE_MATCH, V1))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, V2));
+        expectGet("/1").andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY_V2, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V2));
+        expectGet("/1").andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY_V2, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V2));
+
+        client.getById(1);
+        ResponseEntity<Object> response = client.getById(1);
+        client.getById(1);
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertInstanceOf(InputStreamResource.class, response.getBody());
+        Assertions.assertEquals(BODY_V2, body(response));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        expectGet("/1").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/2").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/1").andExpect(header(HttpHeaders.IF_NONE_MATCH, V1))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, V1));
+        expectGet("/3").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/2").andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+
+        client.getById(1);
+        client.getById(2);
+        client.getById(1);
+        client.getById(3);
+        client.getById(2);
+
+        server.verify();
+    }
+
+    @Test
+    void cacheIsBoundedByBytes() {
+        String large = "{\"id\":2,\"name\":\"Second user\"}";
+        expectGet("/1").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/2").andRespond(withSuccess(large, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V2));
+        expectGet("/2").andExpect(header(HttpHeaders.IF_NONE_MATCH, V2))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, V2));
+        expectGet("/1").andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+
+        client.getById(1);
+        client.getById(2);
+        Assertions.assertEquals(large, body(client.getById(2)));
+        client.getById(1);
+
+        server.verify();
+    }
+
+    @Test
+    void largeResponseIsStreamedAndNotCached() {
+        String large = "{\"id\":1,\"name\":\"" + "x".repeat(40) + "\"}";
+        expectGet("/1").andRespond(withSuccess(large, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/1").andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(large, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1)
+                        .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(large.length())));
+
+        ResponseEntity<Object> response = client.getById(1);
+        ResponseEntity<Object> known = client.getById(1);
+
+        server.verify();
+        Assertions.assertInstanceOf(InputStreamResource.class, response.getBody());
+        Assertions.assertEquals(large, body(response));
+        Assertions.assertEquals(V1, response.getHeaders().getETag());
+        Assertions.assertEquals(large, body(known));
+    }
+
+    @Test
+    void cacheIsKeyedByUser() {
+        expectGet("/1").andExpect(header(USER_ID_HEADER, "1"))
+                .andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/1").andExpect(header(USER_ID_HEADER, "2"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY_V2, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V2));
+
+        client.getById(1, 1L);
+        ResponseEntity<Object> response = client.getById(1, 2L);
+
+        server.verify();
+        Assertions.assertEquals(BODY_V2, body(response));
+    }
+
+    @Test
+    void responseWithoutEtagIsStreamedAndNotCached() {
+        expectGet("/1").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON)
+                .header("X-Internal", "server"));
+        expectGet("/1").andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = client.getById(1);
+        client.getById(1);
+
+        server.verify();
+        Assertions.assertInstanceOf(InputStreamResource.class, response.getBody());
+        Assertions.assertEquals(BODY_V1, body(response));
+        Assertions.assertFalse(response.getHeaders().containsKey("X-Internal"));
+    }
+
+    @Test
+    void errorResponseIsPassedThrough() {
+        expectGet("/1").andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                .body("{\"error\":\"Не найдено пользователя с id: 1\"}"));
+
+        ResponseEntity<Object> response = client.getById(1);
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertEquals("{\"error\":\"Не найдено пользователя с id: 1\"}", body(response));
+    }
+
+    @Test
+    void postBodyIsStreamedBack() {
+        server.expect(requestTo(SERVER_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+
+        ResponseEntity<Object> response = client.create("{\"name\":\"First\"}");
+
+        server.verify();
+        Assertions.assertInstanceOf(InputStreamResource.class, response.getBody());
+        Assertions.assertEquals(BODY_V1, body(response));
+    }
+
+    @Test
+    void hopIsTimedByGatewayRoute() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        expectGet("/1").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+        expectGet("/2").andRespond(withSuccess(BODY_V1, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, V1));
+
+        client.getById(1);
+        client.getById(2);
+
+        server.verify();
+        Assertions.assertEquals(2, meterRegistry.get("http.client.requests")
+                .tag("uri", "/users/{id}")
+                .tag("method", "GET")
+                .tag("status", "200")
+                .timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("http.client.requests").timers().size());
+    }
+
+    private ResponseActions expectGet(String path) {
+        return server.expect(requestTo(SERVER_URL + path)).andExpect(method(HttpMethod.GET));
+    }
+
+    private static void callerSends(String eTag) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        if (body instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        try {
+            return new String(((InputStreamResource) body).getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, ResponseCache responseCache) {
+            super(rest, responseCache);
+        }
+
+        ResponseEntity<Object> getById(long id) {
+            return getById(id, 1L);
+        }
+
+        ResponseEntity<Object> getById(long id, Long userId) {
+            return get("/" + id, userId, null);
+        }
+
+        ResponseEntity<Object> create(String body) {
+            return post("", body);
+        }
+    }
+}
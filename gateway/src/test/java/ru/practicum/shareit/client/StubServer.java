@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class StubServer implements ExchangeFunction {
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private volatile HttpStatus status = HttpStatus.OK;
+    private volatile Consumer<HttpHeaders> headers = headers -> headers.setContentType(MediaType.APPLICATION_JSON);
+    private volatile String body = "{}";
+
+    public void respond(HttpStatus status, Consumer<HttpHeaders> headers, String body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public List<Request> requests() {
+        return requests;
+    }
+
+    public Request lastRequest() {
+        return requests.getLast();
+    }
+
+    public void reset() {
+        requests.clear();
+        respond(HttpStatus.OK, headers -> headers.setContentType(MediaType.APPLICATION_JSON), "{}");
+    }
+
+    @Override
+    public Mono<ClientResponse> exchange(ClientRequest request) {
+        MockClientHttpRequest written = new MockClientHttpRequest(request.method(), request.url());
+        written.getHeaders().putAll(request.headers());
+        return request.body().insert(written, new InserterContext())
+                .then(Mono.defer(written::getBodyAsString))
+                .defaultIfEmpty("")
+                .map(requestBody -> {
+                    requests.add(new Request(request.method(), request.url(), request.headers(), requestBody));
+                    return ClientResponse.create(status)
+                            .headers(headers)
+                            .body(body)
+                            .build();
+                });
+    }
+
+    public record Request(HttpMethod method, URI url, HttpHeaders headers, String body) {
+    }
+
+    private static final class InserterContext implements BodyInserter.Context {
+        private static final ExchangeStrategies STRATEGIES = ExchangeStrategies.withDefaults();
+
+        @Override
+        public List<HttpMessageWriter<?>> messageWriters() {
+            return STRATEGIES.messageWriters();
+        }
+
+        @Override
+        public Optional<ServerHttpRequest> serverRequest() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> hints() {
+            return Map.of();
+        }
+    }
+}
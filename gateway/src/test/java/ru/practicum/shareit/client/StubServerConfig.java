@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@TestConfiguration
+public class StubServerConfig {
+
+    @Bean
+    public StubServer stubServer() {
+        return new StubServer();
+    }
+
+    @Bean
+    public SimpleMeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    public ObservationRegistry observationRegistry(SimpleMeterRegistry meterRegistry) {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return observationRegistry;
+    }
+
+    @Bean
+    @Scope("prototype")
+    public WebClient.Builder webClientBuilder(StubServer stubServer, ObservationRegistry observationRegistry) {
+        return WebClient.builder()
+                .exchangeFunction(stubServer)
+                .observationRegistry(observationRegistry);
+    }
+
+    @Bean
+    public ClientHttpConnector clientHttpConnector() {
+        return Mockito.mock(ClientHttpConnector.class);
+    }
+
+    @Bean
+    public ServerWebExchangeContextFilter serverWebExchangeContextFilter() {
+        return new ServerWebExchangeContextFilter();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.client.StubServer;
+import ru.practicum.shareit.client.StubServerConfig;
+import ru.practicum.shareit.item.importer.ItemImportParser;
+
+import java.net.URI;
+import java.util.List;
+
+@WebFluxTest(ReactiveItemController.class)
+@Import({ReactiveItemClient.class, ItemImportParser.class, StubServerConfig.class})
+class ReactiveItemControllerITest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private StubServer stubServer;
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+    }
+
+    @Test
+    void getItemForwardsUserId() {
+        webTestClient.get().uri("/items/1")
+                .header(USER_ID_HEADER, "2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{}");
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(HttpMethod.GET, request.method());
+        Assertions.assertEquals(URI.create("http://localhost:9090/items/1"), request.url());
+        Assertions.assertEquals("2", request.headers().getFirst(USER_ID_HEADER));
+    }
+
+    @Test
+    void searchItems() {
+        webTestClient.get().uri("/items/search?text=drill&from=5&size=5")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        Assertions.assertEquals(URI.create("http://localhost:9090/items/search?text=drill&from=5&size=5"),
+                stubServer.lastRequest().url());
+    }
+
+    @Test
+    void searchItemsWithNegativeFrom() {
+        webTestClient.get().uri("/items/search?text=drill&from=-1&size=5")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Assertions.assertTrue(stubServer.requests().isEmpty());
+    }
+
+    @Test
+    void createItemWithoutName() {
+        webTestClient.post().uri("/items")
+                .header(USER_ID_HEADER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"description\":\"Description\",\"available\":true}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Assertions.assertTrue(stubServer.requests().isEmpty());
+    }
+
+    @Test
+    void importItemsConvertsCsvToNdjson() {
+        webTestClient.post().uri("/items/import")
+                .header(USER_ID_HEADER, "1")
+                .contentType(MediaType.valueOf(ItemImportParser.TEXT_CSV))
+                .bodyValue("name,description,available\nDrill,\"Cordless, 18V\",true\nSaw,Hand saw,yes\n")
+                .exchange()
+                .expectStatus().isOk();
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(HttpMethod.POST, request.method());
+        Assertions.assertEquals(URI.create("http://localhost:9090/items/import"), request.url());
+        Assertions.assertEquals(MediaType.valueOf(ItemImportParser.NDJSON), request.headers().getContentType());
+        Assertions.assertEquals("{\"row\":1,\"item\":{\"id\":null,\"name\":\"Drill\",\"description\":\"Cordless, 18V\","
+                + "\"available\":true,\"requestId\":null},\"error\":null}\n"
+                + "{\"row\":2,\"item\":null,\"error\":\"Некорректное значение: yes\"}\n", request.body());
+    }
+
+    @Test
+    void importItemsStopsRecordWithUnclosedQuote() {
+        webTestClient.post().uri("/items/import")
+                .header(USER_ID_HEADER, "1")
+                .contentType(MediaType.valueOf(ItemImportParser.TEXT_CSV))
+                .bodyValue("name,description,available\nDrill,\"Cordless,true\n" + "Saw,Hand saw,true\n".repeat(120))
+                .exchange()
+                .expectStatus().isOk();
+
+        List<String> rows = stubServer.lastRequest().body().lines().toList();
+        Assertions.assertEquals(22, rows.size());
+        Assertions.assertEquals("{\"row\":1,\"item\":null,\"error\":\"Незакрытые кавычки в строке CSV: запись длиннее "
+                + "100 строк или 65536 символов\"}", rows.get(0));
+        Assertions.assertEquals("{\"row\":22,\"item\":{\"id\":null,\"name\":\"Saw\",\"description\":\"Hand saw\","
+                + "\"available\":true,\"requestId\":null},\"error\":null}", rows.get(21));
+    }
+}
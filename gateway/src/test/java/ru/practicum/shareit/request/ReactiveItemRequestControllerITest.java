@@ -0,0 +1,82 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.client.StubServer;
+import ru.practicum.shareit.client.StubServerConfig;
+
+import java.net.URI;
+
+@WebFluxTest(ReactiveItemRequestController.class)
+@Import({ReactiveItemRequestClient.class, StubServerConfig.class})
+class ReactiveItemRequestControllerITest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private StubServer stubServer;
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+    }
+
+    @Test
+    void getAllOthers() {
+        webTestClient.get().uri("/requests/all?from=5&size=10")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        Assertions.assertEquals(URI.create("http://localhost:9090/requests/all?from=5&size=10"),
+                stubServer.lastRequest().url());
+    }
+
+    @Test
+    void getAllOthersAfterCursor() {
+        webTestClient.get().uri("/requests/all?cursor=abc")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        Assertions.assertEquals(URI.create("http://localhost:9090/requests/all?cursor=abc&size=20"),
+                stubServer.lastRequest().url());
+    }
+
+    @Test
+    void getAllOthersWithInvalidPagination() {
+        webTestClient.get().uri("/requests/all?from=-1&size=10")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/requests/all?cursor=abc&size=0")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Assertions.assertTrue(stubServer.requests().isEmpty());
+    }
+
+    @Test
+    void createRequest() {
+        webTestClient.post().uri("/requests")
+                .header(USER_ID_HEADER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"description\":\"Need a drill\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(HttpMethod.POST, request.method());
+        Assertions.assertEquals(URI.create("http://localhost:9090/requests"), request.url());
+        Assertions.assertTrue(request.body().contains("\"description\":\"Need a drill\""));
+    }
+}
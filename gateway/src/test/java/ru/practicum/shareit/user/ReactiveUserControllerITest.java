@@ -0,0 +1,140 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.client.StubServer;
+import ru.practicum.shareit.client.StubServerConfig;
+
+import java.net.URI;
+import java.util.List;
+
+@WebFluxTest(ReactiveUserController.class)
+@Import({ReactiveUserClient.class, StubServerConfig.class})
+class ReactiveUserControllerITest {
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private StubServer stubServer;
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        meterRegistry.clear();
+    }
+
+    @Test
+    void getUserPassesServerResponseThrough() {
+        stubServer.respond(HttpStatus.OK, headers -> {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setETag("\"1\"");
+            headers.set("X-Internal", "server");
+        }, "{\"id\":1,\"name\":\"Name\",\"email\":\"email@mail.ru\"}");
+
+        webTestClient.get().uri("/users/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectHeader().doesNotExist("X-Internal")
+                .expectBody().json("{\"id\":1,\"name\":\"Name\",\"email\":\"email@mail.ru\"}");
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(HttpMethod.GET, request.method());
+        Assertions.assertEquals(URI.create("http://localhost:9090/users/1"), request.url());
+    }
+
+    @Test
+    void hopIsTimedByGatewayRoute() {
+        webTestClient.get().uri("/users/1").exchange().expectStatus().isOk();
+        webTestClient.get().uri("/users/2").exchange().expectStatus().isOk();
+
+        Assertions.assertEquals(2, meterRegistry.get("http.client.requests")
+                .tag("uri", "/users/{id}")
+                .tag("method", "GET")
+                .tag("status", "200")
+                .timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("http.client.requests").timers().size());
+    }
+
+    @Test
+    void getUserForwardsIfNoneMatch() {
+        stubServer.respond(HttpStatus.NOT_MODIFIED, headers -> headers.setETag("\"1\""), "");
+
+        webTestClient.get().uri("/users/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        Assertions.assertEquals(List.of("\"1\""), stubServer.lastRequest().headers().getIfNoneMatch());
+    }
+
+    @Test
+    void getUserPassesServerErrorThrough() {
+        stubServer.respond(HttpStatus.NOT_FOUND, headers -> headers.setContentType(MediaType.APPLICATION_JSON),
+                "{\"error\":\"Не найдено пользователя с id: 1\"}");
+
+        webTestClient.get().uri("/users/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"error\":\"Не найдено пользователя с id: 1\"}");
+    }
+
+    @Test
+    void createUser() {
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Name\",\"email\":\"email@mail.ru\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(HttpMethod.POST, request.method());
+        Assertions.assertEquals(URI.create("http://localhost:9090/users"), request.url());
+        Assertions.assertEquals("{\"id\":null,\"name\":\"Name\",\"email\":\"email@mail.ru\"}", request.body());
+    }
+
+    @Test
+    void createUserWithInvalidEmail() {
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Name\",\"email\":\"invalid\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Assertions.assertTrue(stubServer.requests().isEmpty());
+    }
+
+    @Test
+    void createEmptyBatch() {
+        webTestClient.post().uri("/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Assertions.assertTrue(stubServer.requests().isEmpty());
+    }
+
+    @Test
+    void deleteUser() {
+        webTestClient.delete().uri("/users/1")
+                .exchange()
+                .expectStatus().isOk();
+
+        StubServer.Request request = stubServer.lastRequest();
+        Assertions.assertEquals(HttpMethod.DELETE, request.method());
+        Assertions.assertEquals(URI.create("http://localhost:9090/users/1"), request.url());
+    }
+}
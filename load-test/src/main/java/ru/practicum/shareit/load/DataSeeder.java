@@ -0,0 +1,241 @@
+package ru.practicum.shareit.load;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class DataSeeder {
+    static final List<String> TERMS = List.of("drill", "saw", "ladder", "tent", "bike", "kayak", "camera",
+            "projector", "grill", "mixer", "guitar", "scooter", "hammer", "sander", "stroller", "telescope");
+    private static final List<String> ADJECTIVES = List.of("compact", "cordless", "heavy", "folding", "vintage",
+            "electric", "portable", "large");
+    private static final int BATCH_SIZE = 1000;
+    private static final int APPROVAL_BATCH_SIZE = 100;
+    private static final int OWNER_SHARE = 5;
+    private static final int UNAVAILABLE_SHARE = 20;
+    private static final int REQUESTED_SHARE = 10;
+
+    private final GatewayClient client;
+    private final Scale scale;
+    private final int parallelism;
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+    private final Random random = new Random(42);
+    private final Map<Long, Long> ownerByItem = new HashMap<>();
+
+    DataSeeder(GatewayClient client, Scale scale, int parallelism) {
+        this.client = client;
+        this.scale = scale;
+        this.parallelism = parallelism;
+    }
+
+    Dataset seed() throws Exception {
+        List<Long> users = createUsers();
+        List<Long> owners = users.subList(0, Math.max(1, users.size() / OWNER_SHARE));
+        List<Long> bookers = users.subList(owners.size(), users.size());
+        List<Long> requests = createRequests(bookers);
+        List<Long> items = createItems(owners, requests);
+        List<Long> available = items.stream().filter(ownerByItem::containsKey).toList();
+        createComments(available, bookers);
+        createBookings(available, bookers);
+        return new Dataset(users, bookers, items, TERMS);
+    }
+
+    private List<Long> createUsers() throws Exception {
+        if (scale.users() < 2) {
+            throw new IllegalArgumentException("users must be at least 2");
+        }
+        List<Callable<List<Long>>> tasks = new ArrayList<>();
+        for (int from = 0; from < scale.users(); from += BATCH_SIZE) {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + BATCH_SIZE, scale.users()); i++) {
+                json.append(i == from ? "" : ",")
+                        .append("{\"name\":\"User ").append(i)
+                        .append("\",\"email\":\"load-").append(run).append('-').append(i).append("@mail.ru\"}");
+            }
+            tasks.add(() -> client.createAll("/users/batch", null, json.append(']').toString()));
+        }
+        return flatten(parallel(tasks));
+    }
+
+    private List<Long> createRequests(List<Long> bookers) throws Exception {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < scale.requests(); i++) {
+            long requester = bookers.get(random.nextInt(bookers.size()));
+            String json = "{\"description\":\"Need a " + TERMS.get(random.nextInt(TERMS.size())) + " for the weekend\"}";
+            tasks.add(() -> client.create("/requests", requester, json));
+        }
+        return parallel(tasks);
+    }
+
+    private List<Long> createItems(List<Long> owners, List<Long> requests) throws Exception {
+        Map<Long, List<String>> itemsByOwner = new HashMap<>();
+        Map<Long, List<Boolean>> availabilityByOwner = new HashMap<>();
+        for (int i = 0; i < scale.items(); i++) {
+            long owner = owners.get(i % owners.size());
+            boolean available = random.nextInt(UNAVAILABLE_SHARE) != 0;
+            String term = TERMS.get(random.nextInt(TERMS.size()));
+            String requestId = !requests.isEmpty() && random.nextInt(REQUESTED_SHARE) == 0
+                    ? String.valueOf(requests.get(random.nextInt(requests.size()))) : "null";
+            itemsByOwner.computeIfAbsent(owner, id -> new ArrayList<>())
+                    .add("{\"name\":\"" + capitalize(term) + " " + i + "\",\"description\":\""
+                            + capitalize(ADJECTIVES.get(random.nextInt(ADJECTIVES.size()))) + " " + term
+                            + " for rent\",\"available\":" + available + ",\"requestId\":" + requestId + "}");
+            availabilityByOwner.computeIfAbsent(owner, id -> new ArrayList<>()).add(available);
+        }
+        List<Callable<List<Long>>> tasks = new ArrayList<>();
+        for (Map.Entry<Long, List<String>> entry : itemsByOwner.entrySet()) {
+            List<String> items = entry.getValue();
+            for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+                String json = "[" + String.join(",", items.subList(from, Math.min(from + BATCH_SIZE, items.size()))) + "]";
+                tasks.add(() -> client.createAll("/items/batch", entry.getKey(), json));
+            }
+        }
+        List<Long> items = flatten(parallel(tasks));
+        int index = 0;
+        for (Map.Entry<Long, List<String>> entry : itemsByOwner.entrySet()) {
+            List<Boolean> availability = availabilityByOwner.get(entry.getKey());
+            for (int i = 0; i < entry.getValue().size(); i++, index++) {
+                if (availability.get(i)) {
+                    ownerByItem.put(items.get(index), entry.getKey());
+                }
+            }
+        }
+        Collections.shuffle(items, random);
+        return items;
+    }
+
+    private void createComments(List<Long> items, List<Long> bookers) throws Exception {
+        if (items.isEmpty() || scale.comments() == 0) {
+            return;
+        }
+        Map<Long, List<Long>> authorsByItem = new HashMap<>();
+        for (int i = 0; i < scale.comments(); i++) {
+            authorsByItem.computeIfAbsent(items.get(i % items.size()), id -> new ArrayList<>())
+                    .add(bookers.get(random.nextInt(bookers.size())));
+        }
+        Map<Long, List<Long>> bookingsByOwner = new ConcurrentHashMap<>();
+        AtomicReference<LocalDateTime> lastEnd = new AtomicReference<>(LocalDateTime.now());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> entry : authorsByItem.entrySet()) {
+            tasks.add(() -> {
+                LocalDateTime end = LocalDateTime.now();
+                for (long author : entry.getValue()) {
+                    LocalDateTime soonest = LocalDateTime.now().plusSeconds(1);
+                    LocalDateTime start = end.isAfter(soonest) ? end : soonest;
+                    end = start.plusSeconds(1);
+                    book(entry.getKey(), author, start, end, bookingsByOwner);
+                }
+                lastEnd.accumulateAndGet(end, (left, right) -> left.isAfter(right) ? left : right);
+                return null;
+            });
+        }
+        parallel(tasks);
+        decide(bookingsByOwner, 1.0, 0.0);
+        Duration wait = Duration.between(LocalDateTime.now(), lastEnd.get().plusSeconds(1));
+        if (!wait.isNegative()) {
+            Thread.sleep(wait.toMillis());
+        }
+        List<Callable<Long>> comments = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> entry : authorsByItem.entrySet()) {
+            for (long author : entry.getValue()) {
+                String json = "{\"text\":\"Works fine, would rent again\"}";
+                comments.add(() -> client.create("/items/" + entry.getKey() + "/comment", author, json));
+            }
+        }
+        parallel(comments);
+    }
+
+    private void createBookings(List<Long> items, List<Long> bookers) throws Exception {
+        if (items.isEmpty() || scale.bookings() == 0) {
+            return;
+        }
+        Map<Long, List<Long>> bookersByItem = new HashMap<>();
+        for (int i = 0; i < scale.bookings(); i++) {
+            bookersByItem.computeIfAbsent(items.get(i % items.size()), id -> new ArrayList<>())
+                    .add(bookers.get(random.nextInt(bookers.size())));
+        }
+        Map<Long, List<Long>> bookingsByOwner = new ConcurrentHashMap<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> entry : bookersByItem.entrySet()) {
+            tasks.add(() -> {
+                LocalDateTime start = LocalDateTime.now().plusSeconds(1);
+                for (long booker : entry.getValue()) {
+                    LocalDateTime end = start.plusDays(2);
+                    book(entry.getKey(), booker, start, end, bookingsByOwner);
+                    start = end.plusDays(1);
+                }
+                return null;
+            });
+        }
+        parallel(tasks);
+        decide(bookingsByOwner, 0.6, 0.15);
+    }
+
+    private void book(long item, long booker, LocalDateTime start, LocalDateTime end,
+                      Map<Long, List<Long>> bookingsByOwner) throws Exception {
+        long id = client.create("/bookings", booker,
+                "{\"itemId\":" + item + ",\"start\":\"" + start + "\",\"end\":\"" + end + "\"}");
+        bookingsByOwner.computeIfAbsent(ownerByItem.get(item), owner -> Collections.synchronizedList(new ArrayList<>()))
+                .add(id);
+    }
+
+    private void decide(Map<Long, List<Long>> bookingsByOwner, double approved, double rejected) throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> entry : bookingsByOwner.entrySet()) {
+            List<String> decisions = new ArrayList<>();
+            for (long id : entry.getValue()) {
+                double value = random.nextDouble();
+                if (value < approved + rejected) {
+                    decisions.add("{\"id\":" + id + ",\"approved\":" + (value < approved) + "}");
+                }
+            }
+            for (int from = 0; from < decisions.size(); from += APPROVAL_BATCH_SIZE) {
+                String json = "[" + String.join(",",
+                        decisions.subList(from, Math.min(from + APPROVAL_BATCH_SIZE, decisions.size()))) + "]";
+                tasks.add(() -> {
+                    client.patch("/bookings/approve", entry.getKey(), json);
+                    return null;
+                });
+            }
+        }
+        parallel(tasks);
+    }
+
+    private <T> List<T> parallel(List<Callable<T>> tasks) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> result : executor.invokeAll(tasks)) {
+                results.add(result.get());
+            }
+            return results;
+        }
+    }
+
+    private static List<Long> flatten(List<List<Long>> batches) {
+        List<Long> ids = new ArrayList<>();
+        batches.forEach(ids::addAll);
+        return ids;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    record Scale(int users, int items, int requests, int bookings, int comments) {
+        String format() {
+            return String.format("users=%d items=%d requests=%d bookings=%d comments=%d",
+                    users, items, requests, bookings, comments);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.load;
+
+import java.util.List;
+import java.util.Random;
+
+record Dataset(List<Long> userIds, List<Long> bookerIds, List<Long> itemIds, List<String> terms) {
+
+    long user(Random random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    long booker(Random random) {
+        return bookerIds.get(random.nextInt(bookerIds.size()));
+    }
+
+    long item(Random random) {
+        double popularity = random.nextDouble();
+        return itemIds.get((int) (itemIds.size() * popularity * popularity));
+    }
+
+    String term(Random random) {
+        return terms.get(random.nextInt(terms.size()));
+    }
+}
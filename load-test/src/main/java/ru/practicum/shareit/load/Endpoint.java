@@ -0,0 +1,62 @@
+package ru.practicum.shareit.load;
+
+import java.util.Random;
+
+enum Endpoint {
+    SEARCH("search") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/items/search?text=" + dataset.term(random) + "&from=0&size=10";
+        }
+    },
+    ITEM("item") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/items/" + dataset.item(random);
+        }
+    },
+    BOOKINGS("bookings") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/bookings?state=" + BOOKING_STATES[random.nextInt(BOOKING_STATES.length)] + "&size=20";
+        }
+
+        @Override
+        long userId(Dataset dataset, Random random) {
+            return dataset.booker(random);
+        }
+    },
+    REQUESTS("requests") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/requests/all?from=0&size=20";
+        }
+    };
+
+    private static final String[] BOOKING_STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract String path(Dataset dataset, Random random);
+
+    long userId(Dataset dataset, Random random) {
+        return dataset.user(random);
+    }
+
+    static Endpoint of(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + key);
+    }
+}
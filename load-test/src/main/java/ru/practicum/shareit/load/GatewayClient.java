@@ -0,0 +1,80 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class GatewayClient {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    GatewayClient(HttpClient httpClient, String baseUrl) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+    }
+
+    HttpRequest get(String path, long userId) {
+        return request(path, userId).GET().build();
+    }
+
+    int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    long create(String path, Long userId, String json) throws IOException, InterruptedException {
+        List<Long> ids = ids(send("POST", path, userId, json));
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("POST " + path + " returned no id");
+        }
+        return ids.get(0);
+    }
+
+    List<Long> createAll(String path, Long userId, String json) throws IOException, InterruptedException {
+        return ids(send("POST", path, userId, json));
+    }
+
+    void patch(String path, Long userId, String json) throws IOException, InterruptedException {
+        send("PATCH", path, userId, json);
+    }
+
+    private String send(String method, String path, Long userId, String json) throws IOException, InterruptedException {
+        HttpRequest request = request(path, userId)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(method + " " + path + " failed: " + response.statusCode() + " "
+                    + response.body());
+        }
+        return response.body();
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null) {
+            builder.header(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private static List<Long> ids(String body) {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(body);
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+
+final class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    static Summary summarize(Iterable<LatencyRecorder> recorders, long elapsedNanos) {
+        int total = 0;
+        int errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+            errors += recorder.errors;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, all, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(all);
+        double seconds = elapsedNanos / 1e9;
+        return new Summary(total, errors, total / seconds, percentile(all, 0.5), percentile(all, 0.9),
+                percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    record Summary(int requests, int errors, double throughput, long p50, long p90, long p99, long max) {
+        String format(String label) {
+            return String.format("%-28s requests=%d errors=%d throughput=%.1f req/s p50=%.2f ms p90=%.2f ms p99=%.2f ms"
+                            + " max=%.2f ms", label, requests, errors, throughput, p50 / 1e6, p90 / 1e6, p99 / 1e6,
+                    max / 1e6);
+        }
+    }
+}
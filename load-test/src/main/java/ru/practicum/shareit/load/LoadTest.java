@@ -0,0 +1,117 @@
+package ru.practicum.shareit.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class LoadTest {
+    private final GatewayClient client;
+    private final Dataset dataset;
+    private final WorkloadMix mix;
+
+    private LoadTest(GatewayClient client, Dataset dataset, WorkloadMix mix) {
+        this.client = client;
+        this.dataset = dataset;
+        this.mix = mix;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        String label = options.getOrDefault("label", "run");
+        WorkloadMix mix = WorkloadMix.parse(options.getOrDefault("mix", "search:35,item:35,bookings:20,requests:10"));
+        DataSeeder.Scale scale = new DataSeeder.Scale(
+                Integer.parseInt(options.getOrDefault("users", "500")),
+                Integer.parseInt(options.getOrDefault("items", "2000")),
+                Integer.parseInt(options.getOrDefault("requests", "200")),
+                Integer.parseInt(options.getOrDefault("bookings", "5000")),
+                Integer.parseInt(options.getOrDefault("comments", "500")));
+        int seedConcurrency = Integer.parseInt(options.getOrDefault("seed-concurrency", "16"));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            GatewayClient client = new GatewayClient(httpClient, baseUrl);
+
+            long seeding = System.nanoTime();
+            Dataset dataset = new DataSeeder(client, scale, seedConcurrency).seed();
+            System.out.printf("seeded %s in %.1f s%n", scale.format(), (System.nanoTime() - seeding) / 1e9);
+
+            LoadTest loadTest = new LoadTest(client, dataset, mix);
+            loadTest.run(concurrency, warmup);
+            Map<String, LatencyRecorder.Summary> summaries = loadTest.run(concurrency, duration);
+            summaries.forEach((name, summary) -> System.out.println(summary.format(label + " c=" + concurrency + " " + name)));
+        }
+    }
+
+    private Map<String, LatencyRecorder.Summary> run(int concurrency, Duration duration) throws InterruptedException {
+        List<Map<Endpoint, LatencyRecorder>> recorders = new ArrayList<>(concurrency);
+        List<Thread> workers = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            Map<Endpoint, LatencyRecorder> recorder = new EnumMap<>(Endpoint.class);
+            mix.endpoints().forEach(endpoint -> recorder.put(endpoint, new LatencyRecorder()));
+            recorders.add(recorder);
+            workers.add(Thread.ofVirtual().start(() -> {
+                Random random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = mix.next(random);
+                    HttpRequest request = client.get(endpoint.path(dataset, random), endpoint.userId(dataset, random));
+                    long sent = System.nanoTime();
+                    try {
+                        if (client.send(request) >= 400) {
+                            recorder.get(endpoint).error();
+                        } else {
+                            recorder.get(endpoint).record(System.nanoTime() - sent);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        recorder.get(endpoint).error();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        Map<String, LatencyRecorder.Summary> summaries = new LinkedHashMap<>();
+        for (Endpoint endpoint : mix.endpoints()) {
+            summaries.put(endpoint.key(), LatencyRecorder.summarize(
+                    recorders.stream().map(recorder -> recorder.get(endpoint)).toList(), elapsed));
+        }
+        summaries.put("total", LatencyRecorder.summarize(
+                recorders.stream().flatMap(recorder -> recorder.values().stream()).toList(), elapsed));
+        return summaries;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class WorkloadMix {
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final List<Integer> bounds = new ArrayList<>();
+    private int total;
+
+    static WorkloadMix parse(String mix) {
+        WorkloadMix workloadMix = new WorkloadMix();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            int weight = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : -1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Expected endpoint:weight, got: " + entry);
+            }
+            workloadMix.add(Endpoint.of(parts[0].trim()), weight);
+        }
+        if (workloadMix.total == 0) {
+            throw new IllegalArgumentException("Mix has no weight: " + mix);
+        }
+        return workloadMix;
+    }
+
+    private void add(Endpoint endpoint, int weight) {
+        if (weight > 0) {
+            total += weight;
+            endpoints.add(endpoint);
+            bounds.add(total);
+        }
+    }
+
+    List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    Endpoint next(Random random) {
+        int value = random.nextInt(total);
+        int index = 0;
+        while (value >= bounds.get(index)) {
+            index++;
+        }
+        return endpoints.get(index);
+    }
+}
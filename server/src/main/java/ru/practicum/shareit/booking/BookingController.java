@@ -1,6 +1,10 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,44 +14,137 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.export.ExportWriter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final Map<String, Function<BookingExportDto, Object>> EXPORT_COLUMNS = exportColumns();
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final ExportWriter exportWriter;
 
     @GetMapping("/{id}")
-    public Booking getById(@PathVariable Long id, @RequestHeader(USER_ID_HEADER) Long userId) {
+    public BookingResponseDto getById(@PathVariable Long id, @RequestHeader(USER_ID_HEADER) Long userId) {
         return bookingService.getById(id, userId);
     }
 
-    @GetMapping()
-    public List<Booking> getByUser(@RequestParam(defaultValue = "ALL") String state,
-                                   @RequestHeader(USER_ID_HEADER) Long userId) {
-        return bookingService.getByUser(userId, state);
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<BookingResponseDto> getByUser(@RequestParam(defaultValue = "ALL") String state,
+                                              @RequestParam(required = false) Integer size,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestHeader(USER_ID_HEADER) Long userId,
+                                              HttpServletResponse response) {
+        return page(bookingService.getByUser(userId, state, BookingCursor.decode(cursor), size), response);
     }
 
-    @GetMapping("/owner")
-    public List<Booking> getByOwner(@RequestParam(defaultValue = "ALL") String state,
-                                    @RequestHeader(USER_ID_HEADER) Long userId) {
-        return bookingService.getByOwner(userId, state);
+    @GetMapping(produces = NDJSON)
+    public StreamingResponseBody streamByUser(@RequestParam(defaultValue = "ALL") String state,
+                                              @RequestHeader(USER_ID_HEADER) Long userId) {
+        return ndjson(bookingService.streamByUser(userId, state));
+    }
+
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<BookingResponseDto> getByOwner(@RequestParam(defaultValue = "ALL") String state,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestHeader(USER_ID_HEADER) Long userId,
+                                               HttpServletResponse response) {
+        return page(bookingService.getByOwner(userId, state, BookingCursor.decode(cursor), size), response);
+    }
+
+    @GetMapping(path = "/owner", produces = NDJSON)
+    public StreamingResponseBody streamByOwner(@RequestParam(defaultValue = "ALL") String state,
+                                               @RequestHeader(USER_ID_HEADER) Long userId) {
+        return ndjson(bookingService.streamByOwner(userId, state));
+    }
+
+    @GetMapping("/export")
+    public void exportByUser(@RequestParam(defaultValue = "ndjson") String format,
+                             @RequestParam(defaultValue = "false") boolean gzip,
+                             @RequestHeader(USER_ID_HEADER) Long userId,
+                             HttpServletResponse response) throws IOException {
+        bookingService.exportByUser(userId,
+                exportWriter.sink(response, "bookings", ExportFormat.from(format), gzip, EXPORT_COLUMNS));
+    }
+
+    @GetMapping("/owner/export")
+    public void exportByOwner(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              @RequestHeader(USER_ID_HEADER) Long userId,
+                              HttpServletResponse response) throws IOException {
+        bookingService.exportByOwner(userId,
+                exportWriter.sink(response, "owner-bookings", ExportFormat.from(format), gzip, EXPORT_COLUMNS));
     }
 
     @PostMapping
-    public Booking create(@RequestBody BookingDto booking, @RequestHeader(USER_ID_HEADER) Long userId) {
+    public BookingResponseDto create(@RequestBody BookingDto booking, @RequestHeader(USER_ID_HEADER) Long userId) {
         return bookingService.create(booking, userId);
     }
 
     @PatchMapping("/{id}")
-    public Booking approve(@PathVariable Long id, @RequestParam boolean approved,
-                           @RequestHeader(USER_ID_HEADER) Long userId) {
+    public BookingResponseDto approve(@PathVariable Long id, @RequestParam boolean approved,
+                                      @RequestHeader(USER_ID_HEADER) Long userId) {
         return bookingService.approve(id, approved, userId);
     }
+
+    @PatchMapping("/approve")
+    public List<BookingApprovalResultDto> approveAll(@RequestBody List<BookingApprovalDto> approvals,
+                                                     @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingService.approveAll(approvals, userId);
+    }
+
+    private static List<BookingResponseDto> page(Window<BookingResponseDto> window, HttpServletResponse response) {
+        if (window.hasNext() && !window.isEmpty()) {
+            response.setHeader(NEXT_CURSOR_HEADER, BookingCursor.encode(window.positionAt(window.size() - 1)));
+        }
+        return window.getContent();
+    }
+
+    private static Map<String, Function<BookingExportDto, Object>> exportColumns() {
+        Map<String, Function<BookingExportDto, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", BookingExportDto::getId);
+        columns.put("start", BookingExportDto::getStart);
+        columns.put("end", BookingExportDto::getEnd);
+        columns.put("status", BookingExportDto::getStatus);
+        columns.put("itemId", BookingExportDto::getItemId);
+        columns.put("itemName", BookingExportDto::getItemName);
+        columns.put("bookerId", BookingExportDto::getBookerId);
+        return columns;
+    }
+
+    private StreamingResponseBody ndjson(Stream<BookingResponseDto> bookings) {
+        return outputStream -> {
+            try (bookings) {
+                bookings.forEach(booking -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(booking));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
 }
@@ -3,17 +3,18 @@ package ru.practicum.shareit.booking;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 @Component
 @AllArgsConstructor
 public class BookingMapper {
-    private ItemRepository itemRepository;
-    private UserRepository userRepository;
+    private UserMapper userMapper;
 
     public BookingDto toBookingDto(Booking booking) {
         return new BookingDto(
@@ -26,6 +27,34 @@ public class BookingMapper {
         );
     }
 
+    public BookingResponseDto toBookingResponseDto(Booking booking) {
+        return new BookingResponseDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                toBookingItemDto(booking.getItem()),
+                userMapper.toUserDto(booking.getBooker()),
+                booking.getStatus()
+        );
+    }
+
+    private BookingItemDto toBookingItemDto(Item item) {
+        ItemRequest request = item.getRequest();
+        return new BookingItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.isAvailable(),
+                userMapper.toUserDto(item.getOwner()),
+                request == null ? null : new ItemRequest(
+                        request.getId(),
+                        request.getDescription(),
+                        new User(request.getRequester().getId(), request.getRequester().getName(),
+                                request.getRequester().getEmail()),
+                        request.getCreated())
+        );
+    }
+
     public Booking toBooking(BookingDto bookingDTO, User user, Item item) {
         return new Booking(
                 bookingDTO.getId(),
@@ -33,7 +62,8 @@ public class BookingMapper {
                 bookingDTO.getEnd(),
                 item,
                 user,
-                bookingDTO.getStatus()
+                bookingDTO.getStatus(),
+                null
         );
     }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingItemDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Boolean available;
+    private UserDto owner;
+    private ItemRequest request;
+}
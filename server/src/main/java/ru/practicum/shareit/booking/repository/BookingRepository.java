@@ -1,36 +1,71 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.export.ExportWriter;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(Long userId, LocalDateTime now, LocalDateTime now2);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findWithDetailsById(Long id);
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime now);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(
+            Long userId, LocalDateTime now, LocalDateTime now2, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime now);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(
+            Long userId, LocalDateTime now, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long userId, BookingStatus status);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByBookerIdAndStartAfterOrderByStartDescIdDesc(
+            Long userId, LocalDateTime now, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long userId);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByBookerIdAndStatusOrderByStartDescIdDesc(
+            Long userId, BookingStatus status, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(Long ownerId, LocalDateTime now, LocalDateTime now2);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByBookerIdOrderByStartDescIdDesc(Long userId, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime now);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime now, LocalDateTime now2, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime now);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime now, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime now, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+            Long ownerId, BookingStatus status, ScrollPosition position, Limit limit);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Window<Booking> findAllByItemOwnerIdOrderByStartDescIdDesc(Long ownerId, ScrollPosition position, Limit limit);
 
     @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.start >= CURRENT_TIMESTAMP AND b.status = 'APPROVED' ORDER BY b.start ASC")
     List<Booking> findUpcomingBookingsByItemId(@Param("itemId") Long itemId);
@@ -41,8 +76,61 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.end <= CURRENT_TIMESTAMP AND b.status = 'APPROVED' ORDER BY b.start DESC")
     List<Booking> findCompletedBookingsByItemId(@Param("itemId") Long itemId);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.start <= CURRENT_TIMESTAMP AND b.status = 'APPROVED' ORDER BY b.start DESC")
-    List<Booking> findAllByItemIdIn(@Param("itemIds") List<Long> itemIds);
-
-
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "FROM Booking b WHERE b.status IN ('WAITING', 'APPROVED') AND b.end > CURRENT_TIMESTAMP")
+    List<BookingDto> findActiveBookingPeriods();
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = 'APPROVED' " +
+            "AND (b.start = (SELECT MAX(l.start) FROM Booking l " +
+            "WHERE l.item.id = b.item.id AND l.status = 'APPROVED' AND l.start <= :now) " +
+            "OR b.start = (SELECT MIN(n.start) FROM Booking n " +
+            "WHERE n.item.id = b.item.id AND n.status = 'APPROVED' AND n.start > :now))")
+    List<BookingDto> findLastAndNextBookingsByItemIdIn(@Param("itemIds") List<Long> itemIds,
+                                                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status IN ('WAITING', 'APPROVED') " +
+            "AND b.start < :end AND b.end > :start")
+    boolean existsOverlappingBooking(@Param("itemId") Long itemId,
+                                     @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.status = 'WAITING' " +
+            "AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)")
+    int updateWaitingStatus(@Param("id") Long id,
+                            @Param("ownerId") Long ownerId,
+                            @Param("status") BookingStatus status);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "FROM Booking b WHERE b.id IN :ids AND b.item.owner.id = :ownerId")
+    List<BookingDto> findOwnedBookingsByIdIn(@Param("ids") Collection<Long> ids, @Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.version = b.version + 1, b.status = CASE WHEN b.id IN :approvedIds " +
+            "THEN ru.practicum.shareit.booking.dto.BookingStatus.APPROVED " +
+            "ELSE ru.practicum.shareit.booking.dto.BookingStatus.REJECTED END " +
+            "WHERE b.id IN :ids AND b.status = 'WAITING'")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("approvedIds") Collection<Long> approvedIds);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingExportDto(" +
+            "b.id, b.start, b.end, b.status, b.item.id, b.item.name, b.booker.id) " +
+            "FROM Booking b WHERE b.booker.id = :userId ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingExportDto> streamExportByBookerId(@Param("userId") Long userId);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingExportDto(" +
+            "b.id, b.start, b.end, b.status, b.item.id, b.item.name, b.booker.id) " +
+            "FROM Booking b WHERE b.item.owner.id = :ownerId ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingExportDto> streamExportByOwnerId(@Param("ownerId") Long ownerId);
 }
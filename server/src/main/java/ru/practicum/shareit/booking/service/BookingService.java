@@ -1,23 +1,45 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.export.ExportSink;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Transactional(readOnly = true)
 public interface BookingService {
 
-    Booking getById(Long id, Long userId);
+    BookingResponseDto getById(Long id, Long userId);
 
-    List<Booking> getByUser(Long userId, String state);
+    Window<BookingResponseDto> getByUser(Long userId, String state, ScrollPosition position, Integer size);
 
-    List<Booking> getByOwner(Long userId, String state);
+    Window<BookingResponseDto> getByOwner(Long userId, String state, ScrollPosition position, Integer size);
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    Stream<BookingResponseDto> streamByUser(Long userId, String state);
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    Stream<BookingResponseDto> streamByOwner(Long userId, String state);
+
+    void exportByUser(Long userId, ExportSink<BookingExportDto> sink) throws IOException;
+
+    void exportByOwner(Long userId, ExportSink<BookingExportDto> sink) throws IOException;
+
+    @Transactional
+    BookingResponseDto create(BookingDto booking, Long userId);
 
     @Transactional
-    Booking create(BookingDto booking, Long userId);
+    BookingResponseDto approve(Long id, boolean approved, Long userId);
 
     @Transactional
-    Booking approve(Long id, boolean approved, Long userId);
+    List<BookingApprovalResultDto> approveAll(List<BookingApprovalDto> approvals, Long userId);
 }
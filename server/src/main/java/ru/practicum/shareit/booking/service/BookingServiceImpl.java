@@ -1,90 +1,139 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.AllArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.support.WindowIterator;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AvailabilityException;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.NotOwnerException;
 import ru.practicum.shareit.exception.StatusException;
 import ru.practicum.shareit.exception.UnsupportedStateException;
+import ru.practicum.shareit.export.ExportSink;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 @Transactional(readOnly = true)
 @AllArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private BookingRepository bookingRepository;
     private ItemRepository itemRepository;
     private UserRepository userRepository;
     private BookingMapper bookingMapper;
+    private ItemDetailsCache itemDetailsCache;
+    private ItemAvailabilityIndex itemAvailabilityIndex;
 
     @Override
-    public Booking getById(Long id, Long userId) {
+    public BookingResponseDto getById(Long id, Long userId) {
         findUserById(userId);
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new NotFoundException("Не найдено брони с ID = " + id));
         if (!Objects.equals(booking.getBooker().getId(), userId) && !Objects.equals(booking.getItem().getOwner().getId(), userId)) {
             throw new NotFoundException("У вас не найдено такой брони или предмета.");
         }
-        return booking;
+        return bookingMapper.toBookingResponseDto(booking);
     }
 
     @Override
-    public List<Booking> getByUser(Long userId, String state) {
+    public Window<BookingResponseDto> getByUser(Long userId, String state, ScrollPosition position, Integer size) {
         findUserById(userId);
-        LocalDateTime now = LocalDateTime.ofInstant(Instant.now(), ZoneId.systemDefault());
-        return switch (state.toUpperCase()) {
-            case "CURRENT" -> bookingRepository
-                    .findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(userId, now, now);
-            case "PAST" -> bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, now);
-            case "FUTURE" -> bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, now);
-            case "WAITING" ->
-                    bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.valueOf("WAITING"));
-            case "REJECTED" ->
-                    bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.valueOf("REJECTED"));
-            case "ALL" -> bookingRepository.findAllByBookerIdOrderByStartDesc(userId);
-            default -> throw new UnsupportedStateException("Неизвестное состояние: " + state);
-        };
+        return findByUser(userId, parseState(state), now(), position, pageLimit(position, size))
+                .map(bookingMapper::toBookingResponseDto);
     }
 
     @Override
-    public List<Booking> getByOwner(Long userId, String state) {
+    public Window<BookingResponseDto> getByOwner(Long userId, String state, ScrollPosition position, Integer size) {
         findUserById(userId);
-        LocalDateTime now = LocalDateTime.ofInstant(Instant.now(), ZoneId.systemDefault());
-        return switch (state.toUpperCase()) {
-            case "CURRENT" -> bookingRepository
-                    .findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(userId, now, now);
-            case "PAST" -> bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now);
-            case "FUTURE" -> bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now);
-            case "WAITING" ->
-                    bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.valueOf("WAITING"));
-            case "REJECTED" ->
-                    bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.valueOf("REJECTED"));
-            case "ALL" -> bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId);
-            default -> throw new UnsupportedStateException("Неизвестное состояние: " + state);
-        };
+        return findByOwner(userId, parseState(state), now(), position, pageLimit(position, size))
+                .map(bookingMapper::toBookingResponseDto);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Stream<BookingResponseDto> streamByUser(Long userId, String state) {
+        findUserById(userId);
+        BookingState bookingState = parseState(state);
+        LocalDateTime now = now();
+        return stream(position -> findByUser(userId, bookingState, now, position, Limit.of(STREAM_CHUNK_SIZE)))
+                .map(bookingMapper::toBookingResponseDto);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Stream<BookingResponseDto> streamByOwner(Long userId, String state) {
+        findUserById(userId);
+        BookingState bookingState = parseState(state);
+        LocalDateTime now = now();
+        return stream(position -> findByOwner(userId, bookingState, now, position, Limit.of(STREAM_CHUNK_SIZE)))
+                .map(bookingMapper::toBookingResponseDto);
+    }
+
+    @Override
+    public void exportByUser(Long userId, ExportSink<BookingExportDto> sink) throws IOException {
+        findUserById(userId);
+        try (Stream<BookingExportDto> bookings = bookingRepository.streamExportByBookerId(userId)) {
+            sink.write(bookings);
+        }
+    }
+
+    @Override
+    public void exportByOwner(Long userId, ExportSink<BookingExportDto> sink) throws IOException {
+        findUserById(userId);
+        try (Stream<BookingExportDto> bookings = bookingRepository.streamExportByOwnerId(userId)) {
+            sink.write(bookings);
+        }
     }
 
     @Override
     @Transactional
-    public Booking create(BookingDto booking, Long userId) {
+    public BookingResponseDto create(BookingDto booking, Long userId) {
         booking.setBookerId(userId);
-        Item item = itemRepository.findById(booking.getItemId())
+        Item item = itemRepository.findByIdForUpdate(booking.getItemId())
                 .orElseThrow(() -> new NotFoundException("Не найдено предмета с ID = " + booking.getItemId()));
         User user = findUserById(booking.getBookerId());
         if (!item.isAvailable()) {
@@ -93,14 +142,98 @@ public class BookingServiceImpl implements BookingService {
         if (Objects.equals(item.getOwner().getId(), userId)) {
             throw new NotFoundException("У вас не найдено такой брони.");
         }
+        if (bookingRepository.existsOverlappingBooking(item.getId(), booking.getStart(), booking.getEnd())) {
+            throw new BookingOverlapException("Предмет уже забронирован на выбранное время");
+        }
         booking.setStatus(BookingStatus.WAITING);
-        return bookingRepository.save(bookingMapper.toBooking(booking, user, item));
+        Booking saved = bookingRepository.save(bookingMapper.toBooking(booking, user, item));
+        itemAvailabilityIndex.book(bookingMapper.toBookingDto(saved));
+        return bookingMapper.toBookingResponseDto(saved);
+    }
+
+    @Override
+    @Transactional
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${shareit.booking.approve.max-attempts}",
+            backoff = @Backoff(delayExpression = "${shareit.booking.approve.backoff-delay}",
+                    maxDelayExpression = "${shareit.booking.approve.backoff-max-delay}",
+                    multiplier = 2, random = true))
+    public BookingResponseDto approve(Long id, boolean approved, Long userId) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Booking saved;
+        if (bookingRepository.updateWaitingStatus(id, userId, status) == 1) {
+            saved = bookingRepository.findWithDetailsById(id)
+                    .orElseThrow(() -> new NotFoundException("Не найдено брони с ID = " + id));
+        } else {
+            saved = changeStatus(id, status, userId);
+        }
+        itemDetailsCache.evictBookings(saved.getItem().getId());
+        if (saved.getStatus() == BookingStatus.REJECTED) {
+            itemAvailabilityIndex.release(saved.getItem().getId(), saved.getId());
+        } else {
+            itemAvailabilityIndex.book(bookingMapper.toBookingDto(saved));
+        }
+        return bookingMapper.toBookingResponseDto(saved);
     }
 
     @Override
     @Transactional
-    public Booking approve(Long id, boolean approved, Long userId) {
-        Booking booking = bookingRepository.findById(id)
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${shareit.booking.approve.max-attempts}",
+            backoff = @Backoff(delayExpression = "${shareit.booking.approve.backoff-delay}",
+                    maxDelayExpression = "${shareit.booking.approve.backoff-max-delay}",
+                    multiplier = 2, random = true))
+    public List<BookingApprovalResultDto> approveAll(List<BookingApprovalDto> approvals, Long userId) {
+        Set<Long> ids = approvals.stream().map(BookingApprovalDto::getId).collect(Collectors.toSet());
+        Map<Long, BookingDto> owned = bookingRepository.findOwnedBookingsByIdIn(ids, userId).stream()
+                .collect(Collectors.toMap(BookingDto::getId, Function.identity()));
+        Set<Long> seen = new HashSet<>();
+        List<Long> changedIds = new ArrayList<>();
+        List<Long> approvedIds = new ArrayList<>();
+        List<BookingApprovalResultDto> results = new ArrayList<>();
+        for (BookingApprovalDto approval : approvals) {
+            BookingDto booking = owned.get(approval.getId());
+            if (!seen.add(approval.getId())) {
+                results.add(new BookingApprovalResultDto(approval.getId(), null,
+                        "Бронь с ID = " + approval.getId() + " указана несколько раз"));
+            } else if (booking == null) {
+                results.add(new BookingApprovalResultDto(approval.getId(), null,
+                        "У вас не найдено брони с ID = " + approval.getId()));
+            } else if (booking.getStatus() == BookingStatus.APPROVED) {
+                results.add(new BookingApprovalResultDto(approval.getId(), booking.getStatus(),
+                        "Нельзя подтвердить бронь, которая уже подтверждена."));
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results.add(new BookingApprovalResultDto(approval.getId(), booking.getStatus(),
+                        "Нельзя изменить бронь, которая уже отклонена."));
+            } else {
+                booking.setStatus(approval.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+                changedIds.add(booking.getId());
+                if (approval.getApproved()) {
+                    approvedIds.add(booking.getId());
+                }
+                results.add(new BookingApprovalResultDto(booking.getId(), booking.getStatus(), null));
+            }
+        }
+        if (changedIds.isEmpty()) {
+            return results;
+        }
+        if (bookingRepository.updateStatuses(changedIds, approvedIds) != changedIds.size()) {
+            throw new OptimisticLockingFailureException("Брони были подтверждены другим запросом");
+        }
+        for (Long id : changedIds) {
+            BookingDto booking = owned.get(id);
+            itemDetailsCache.evictBookings(booking.getItemId());
+            if (booking.getStatus() == BookingStatus.REJECTED) {
+                itemAvailabilityIndex.release(booking.getItemId(), booking.getId());
+            } else {
+                itemAvailabilityIndex.book(booking);
+            }
+        }
+        return results;
+    }
+
+    private Booking changeStatus(Long id, BookingStatus status, Long userId) {
+        Booking booking = bookingRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new NotFoundException("Не найдено брони с ID = " + id));
         if (!Objects.equals(booking.getItem().getOwner().getId(), userId)) {
             throw new NotOwnerException("Вы не являетесь владельцем данного предмета!");
@@ -108,8 +241,69 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus() == BookingStatus.APPROVED) {
             throw new StatusException("Нельзя подтвердить бронь, которая уже подтверждена.");
         }
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingRepository.save(booking);
+        booking.setStatus(status);
+        return bookingRepository.saveAndFlush(booking);
+    }
+
+    private Window<Booking> findByUser(Long userId, BookingState state, LocalDateTime now,
+                                       ScrollPosition position, Limit limit) {
+        return switch (state) {
+            case CURRENT -> bookingRepository
+                    .findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(
+                            userId, now, now, position, limit);
+            case PAST -> bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(
+                    userId, now, position, limit);
+            case FUTURE -> bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDescIdDesc(
+                    userId, now, position, limit);
+            case WAITING -> bookingRepository.findAllByBookerIdAndStatusOrderByStartDescIdDesc(
+                    userId, BookingStatus.WAITING, position, limit);
+            case REJECTED -> bookingRepository.findAllByBookerIdAndStatusOrderByStartDescIdDesc(
+                    userId, BookingStatus.REJECTED, position, limit);
+            case ALL -> bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(userId, position, limit);
+        };
+    }
+
+    private Window<Booking> findByOwner(Long userId, BookingState state, LocalDateTime now,
+                                        ScrollPosition position, Limit limit) {
+        return switch (state) {
+            case CURRENT -> bookingRepository
+                    .findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(
+                            userId, now, now, position, limit);
+            case PAST -> bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(
+                    userId, now, position, limit);
+            case FUTURE -> bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(
+                    userId, now, position, limit);
+            case WAITING -> bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                    userId, BookingStatus.WAITING, position, limit);
+            case REJECTED -> bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                    userId, BookingStatus.REJECTED, position, limit);
+            case ALL -> bookingRepository.findAllByItemOwnerIdOrderByStartDescIdDesc(userId, position, limit);
+        };
+    }
+
+    private static Stream<Booking> stream(Function<ScrollPosition, Window<Booking>> windowFunction) {
+        Iterator<Booking> iterator = WindowIterator.of(windowFunction).startingAt(ScrollPosition.keyset());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    private static Limit pageLimit(ScrollPosition position, Integer size) {
+        if (size == null) {
+            return position.isInitial() ? Limit.unlimited() : Limit.of(DEFAULT_PAGE_SIZE);
+        }
+        OffsetPageRequest.checkSize(size);
+        return Limit.of(size);
+    }
+
+    private static BookingState parseState(String state) {
+        try {
+            return BookingState.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedStateException("Неизвестное состояние: " + state);
+        }
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.now(), ZoneId.systemDefault());
     }
 
     private User findUserById(Long userId) {
@@ -20,7 +20,9 @@ public class ExceptionController {
     }
 
     @ExceptionHandler({MethodArgumentNotValidException.class, AvailabilityException.class,
-            UnsupportedStateException.class, StatusException.class, CommentException.class})
+            UnsupportedStateException.class, StatusException.class, CommentException.class,
+            InvalidCursorException.class, PeriodException.class, UnsupportedFormatException.class,
+            PaginationException.class})
     public ResponseEntity<ErrorMessage> handleMethodArgumentNotValid(Exception exception) {
         log.error("ERROR", exception);
         return ResponseEntity
@@ -28,7 +30,7 @@ public class ExceptionController {
                 .body(new ErrorMessage(exception.getMessage()));
     }
 
-    @ExceptionHandler({DataIntegrityViolationException.class})
+    @ExceptionHandler({DataIntegrityViolationException.class, BookingOverlapException.class})
     public ResponseEntity<ErrorMessage> handleMethodDuplicateDataException(Exception exception) {
         log.error("ERROR", exception);
         return ResponseEntity
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exception;
+
+public class PeriodException extends RuntimeException {
+
+    public PeriodException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.export;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+@FunctionalInterface
+public interface ExportSink<T> {
+    void write(Stream<T> rows) throws IOException;
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@RequiredArgsConstructor
+public class ExportWriter {
+    public static final String FETCH_SIZE = "500";
+    private static final String GZIP = "application/gzip";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final ObjectMapper objectMapper;
+
+    public <T> ExportSink<T> sink(HttpServletResponse response, String name, ExportFormat format, boolean gzip,
+                                  Map<String, Function<T, Object>> columns) {
+        return rows -> {
+            String fileName = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+            response.setContentType(gzip ? GZIP : format.getContentType() + ";charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(fileName).build().toString());
+            OutputStream output = gzip
+                    ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)
+                    : response.getOutputStream();
+            if (format == ExportFormat.CSV) {
+                writeLine(String.join(",", columns.keySet()), output);
+            }
+            for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+                T row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeLine(columns.values().stream()
+                            .map(column -> csv(column.apply(row)))
+                            .collect(Collectors.joining(",")), output);
+                } else {
+                    output.write(objectMapper.writeValueAsBytes(row));
+                    output.write('\n');
+                }
+            }
+            if (output instanceof GZIPOutputStream gzipOutput) {
+                gzipOutput.finish();
+            }
+            output.flush();
+        };
+    }
+
+    private static void writeLine(String line, OutputStream output) throws IOException {
+        output.write(line.getBytes(StandardCharsets.UTF_8));
+        output.write('\n');
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,33 +13,68 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.export.ExportWriter;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.importer.ItemImporter;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final Map<String, Function<ItemDto, Object>> EXPORT_COLUMNS = exportColumns();
     private final ItemService itemService;
+    private final ItemImporter itemImporter;
+    private final ExportWriter exportWriter;
 
     @GetMapping("/{id}")
     public ItemBookingDto get(@PathVariable Long id, @RequestHeader(USER_ID_HEADER) Long userId) {
         return itemService.get(id, userId);
     }
 
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long id,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(id, from, to);
+    }
+
     @GetMapping
     public Collection<ItemBookingDto> getAllByUser(@RequestHeader(USER_ID_HEADER) Long userId) {
         return itemService.getAllByUser(userId);
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> search(@RequestParam String text) {
-        return itemService.search(text);
+    public Collection<ItemDto> search(@RequestParam String text,
+                                      @RequestParam(defaultValue = "0") Integer from,
+                                      @RequestParam(defaultValue = "10") Integer size) {
+        OffsetPageRequest.check(from, size);
+        return itemService.search(text, from, size);
+    }
+
+    @GetMapping("/export")
+    public void exportByOwner(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              @RequestHeader(USER_ID_HEADER) Long userId,
+                              HttpServletResponse response) throws IOException {
+        itemService.exportByOwner(userId,
+                exportWriter.sink(response, "items", ExportFormat.from(format), gzip, EXPORT_COLUMNS));
     }
 
     @PostMapping
@@ -45,6 +82,20 @@ public class ItemController {
         return itemService.create(item, userId);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestBody List<ItemDto> items, @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemService.createAll(items, userId);
+    }
+
+    @PostMapping(path = "/import", consumes = NDJSON)
+    public void importItems(@RequestHeader(USER_ID_HEADER) Long userId, InputStream body,
+                            HttpServletResponse response) throws IOException {
+        itemImporter.checkUser(userId);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        itemImporter.importItems(userId, body, response.getOutputStream());
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto comment(@PathVariable Long itemId,
                               @RequestHeader(USER_ID_HEADER) Long userId, @RequestBody CommentDto comment) {
@@ -56,4 +107,14 @@ public class ItemController {
                         @RequestHeader(USER_ID_HEADER) Long userId, @RequestBody Map<String, Object> updates) {
         return itemService.edit(itemId, userId, updates);
     }
+
+    private static Map<String, Function<ItemDto, Object>> exportColumns() {
+        Map<String, Function<ItemDto, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", ItemDto::getId);
+        columns.put("name", ItemDto::getName);
+        columns.put("description", ItemDto::getDescription);
+        columns.put("available", ItemDto::getAvailable);
+        columns.put("requestId", ItemDto::getRequestId);
+        return columns;
+    }
 }
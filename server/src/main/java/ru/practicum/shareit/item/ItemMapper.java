@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.cache.ItemDetails;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemRequestingDto;
@@ -36,15 +37,39 @@ public class ItemMapper {
     }
 
     public ItemBookingDto toItemBookingDto(Item item, BookingDto lastBooking, BookingDto nextBooking, Long userId, List<CommentDto> comments) {
+        return toItemBookingDto(toItemDetails(item), lastBooking, nextBooking, userId, comments);
+    }
+
+    public ItemBookingDto toItemBookingDto(ItemDetails item, BookingDto lastBooking, BookingDto nextBooking, Long userId,
+                                           List<CommentDto> comments) {
+        boolean owner = item.ownerId().equals(userId);
         return new ItemBookingDto(
+                item.id(),
+                item.name(),
+                item.description(),
+                item.available(),
+                toItemRequest(item.request()),
+                owner ? lastBooking : null,
+                owner ? nextBooking : null,
+                comments
+        );
+    }
+
+    public ItemDetails toItemDetails(Item item) {
+        ItemRequest request = item.getRequest();
+        return new ItemDetails(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.isAvailable(),
-                item.getRequest(),
-                item.getOwner().getId().equals(userId) ? lastBooking : null,
-                item.getOwner().getId().equals(userId) ? nextBooking : null,
-                comments
+                item.getOwner().getId(),
+                request == null ? null : new ItemDetails.Request(
+                        request.getId(),
+                        request.getDescription(),
+                        request.getRequester().getId(),
+                        request.getRequester().getName(),
+                        request.getRequester().getEmail(),
+                        request.getCreated())
         );
     }
 
@@ -55,4 +80,12 @@ public class ItemMapper {
                 item.getOwner().getId()
         );
     }
+
+    private static ItemRequest toItemRequest(ItemDetails.Request request) {
+        if (request == null) {
+            return null;
+        }
+        return new ItemRequest(request.id(), request.description(),
+                new User(request.requesterId(), request.requesterName(), request.requesterEmail()), request.created());
+    }
 }
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
+import ru.practicum.shareit.transaction.TransactionCallbacks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemAvailabilityIndex implements SmartInitializingSingleton {
+    private final BookingRepository bookingRepository;
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        timelines.clear();
+        List<BookingDto> bookings = bookingRepository.findActiveBookingPeriods();
+        bookings.forEach(this::put);
+        log.info("Календарь занятости предметов построен, броней: {}", bookings.size());
+    }
+
+    public void book(BookingDto booking) {
+        TransactionCallbacks.afterCommit(() -> put(booking));
+    }
+
+    public void release(Long itemId, Long bookingId) {
+        TransactionCallbacks.afterCommit(() -> timelines.computeIfPresent(itemId, (id, timeline) -> {
+            timeline.remove(bookingId);
+            return timeline.isEmpty() ? null : timeline;
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.availability.eviction-delay:600000}")
+    public void evictEnded() {
+        evictEnded(LocalDateTime.now());
+    }
+
+    public void evictEnded(LocalDateTime now) {
+        for (Long itemId : timelines.keySet()) {
+            timelines.computeIfPresent(itemId, (id, timeline) -> {
+                timeline.evictEnded(now);
+                return timeline.isEmpty() ? null : timeline;
+            });
+        }
+    }
+
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Timeline timeline = timelines.get(itemId);
+        List<PeriodDto> busy = timeline == null ? Collections.emptyList() : timeline.busy(from, to);
+        List<PeriodDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (PeriodDto period : busy) {
+            if (cursor.isBefore(period.getStart())) {
+                free.add(new PeriodDto(cursor, period.getStart()));
+            }
+            cursor = period.getEnd();
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new PeriodDto(cursor, to));
+        }
+        return new ItemAvailabilityDto(itemId, from, to, busy, free);
+    }
+
+    private void put(BookingDto booking) {
+        LocalDateTime now = LocalDateTime.now();
+        timelines.compute(booking.getItemId(), (id, timeline) -> {
+            Timeline target = timeline != null ? timeline : new Timeline();
+            target.put(booking.getId(), booking.getStart(), booking.getEnd());
+            target.evictEnded(now);
+            return target.isEmpty() ? null : target;
+        });
+    }
+
+    private static final class Timeline {
+        private final NavigableMap<Key, LocalDateTime> periods = new TreeMap<>();
+        private final NavigableSet<Key> ends = new TreeSet<>();
+        private final Map<Long, Key> keys = new HashMap<>();
+        private final NavigableMap<Duration, Integer> durations = new TreeMap<>();
+
+        synchronized void put(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            remove(bookingId);
+            Key key = new Key(start, bookingId);
+            periods.put(key, end);
+            ends.add(new Key(end, bookingId));
+            keys.put(bookingId, key);
+            durations.merge(Duration.between(start, end), 1, Integer::sum);
+        }
+
+        synchronized void remove(Long bookingId) {
+            Key key = keys.remove(bookingId);
+            if (key != null) {
+                LocalDateTime end = periods.remove(key);
+                ends.remove(new Key(end, bookingId));
+                durations.computeIfPresent(Duration.between(key.time(), end), (duration, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+
+        synchronized void evictEnded(LocalDateTime now) {
+            while (!ends.isEmpty() && !ends.first().time().isAfter(now)) {
+                remove(ends.first().bookingId());
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return keys.isEmpty();
+        }
+
+        synchronized List<PeriodDto> busy(LocalDateTime from, LocalDateTime to) {
+            List<PeriodDto> busy = new ArrayList<>();
+            Duration longest = durations.isEmpty() ? Duration.ZERO : durations.lastKey();
+            Key lowest = new Key(from.minus(longest), Long.MIN_VALUE);
+            Key highest = new Key(to, Long.MIN_VALUE);
+            for (Map.Entry<Key, LocalDateTime> period : periods.subMap(lowest, true, highest, false).entrySet()) {
+                if (!period.getValue().isAfter(from)) {
+                    continue;
+                }
+                LocalDateTime start = period.getKey().time().isBefore(from) ? from : period.getKey().time();
+                LocalDateTime end = period.getValue().isAfter(to) ? to : period.getValue();
+                PeriodDto last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+                if (last != null && !start.isAfter(last.getEnd())) {
+                    if (end.isAfter(last.getEnd())) {
+                        last.setEnd(end);
+                    }
+                } else {
+                    busy.add(new PeriodDto(start, end));
+                }
+            }
+            return busy;
+        }
+    }
+
+    private record Key(LocalDateTime time, long bookingId) implements Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::time).thenComparingLong(Key::bookingId);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ItemBookings(BookingDto last, BookingDto next) {
+
+    static ItemBookings of(List<BookingDto> bookings, LocalDateTime now) {
+        BookingDto last = null;
+        BookingDto next = null;
+        for (BookingDto booking : bookings) {
+            if (booking.getStart().isAfter(now)) {
+                next = next == null ? booking : next;
+            } else {
+                last = last == null ? booking : last;
+            }
+        }
+        return new ItemBookings(last, next);
+    }
+
+    boolean isCurrentAt(LocalDateTime now) {
+        return next == null || next.getStart().isAfter(now);
+    }
+}
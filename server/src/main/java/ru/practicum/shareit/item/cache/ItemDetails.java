@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.cache;
+
+import java.time.Instant;
+
+public record ItemDetails(Long id, String name, String description, boolean available, Long ownerId,
+                          Request request) {
+
+    public record Request(Long id, String description, Long requesterId, String requesterName,
+                          String requesterEmail, Instant created) {
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemDetailsCache {
+    public static final String ITEMS = "items";
+    public static final String ITEM_COMMENTS = "itemComments";
+    public static final String ITEM_BOOKINGS = "itemBookings";
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemMapper itemMapper;
+    private final CommentMapper commentMapper;
+    private final CacheManager cacheManager;
+
+    @Cacheable(ITEMS)
+    public ItemDetails getItem(Long itemId) {
+        return itemRepository.findById(itemId)
+                .map(itemMapper::toItemDetails)
+                .orElseThrow(() -> new NotFoundException("Не найдено предмета с id: " + itemId));
+    }
+
+    @Cacheable(ITEM_COMMENTS)
+    public List<CommentDto> getComments(Long itemId) {
+        return commentRepository.findAllByItemId(itemId).stream()
+                .map(commentMapper::toCommentDto)
+                .toList();
+    }
+
+    public ItemBookings getLastAndNextBookings(Long itemId, LocalDateTime now) {
+        Cache cache = cacheManager.getCache(ITEM_BOOKINGS);
+        ItemBookings cached = cache != null ? cache.get(itemId, ItemBookings.class) : null;
+        if (cached != null && cached.isCurrentAt(now)) {
+            return cached;
+        }
+        ItemBookings bookings = ItemBookings.of(
+                bookingRepository.findLastAndNextBookingsByItemIdIn(List.of(itemId), now), now);
+        if (cache != null) {
+            cache.put(itemId, bookings);
+        }
+        return bookings;
+    }
+
+    public void evictItem(Long itemId) {
+        evict(ITEMS, itemId);
+    }
+
+    public void evictComments(Long itemId) {
+        evict(ITEM_COMMENTS, itemId);
+    }
+
+    public void evictBookings(Long itemId) {
+        evict(ITEM_BOOKINGS, itemId);
+    }
+
+    public void evictAll() {
+        for (String cacheName : List.of(ITEMS, ITEM_COMMENTS, ITEM_BOOKINGS)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                new TransactionAwareCacheDecorator(cache).clear();
+            }
+        }
+    }
+
+    private void evict(String cacheName, Long itemId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            new TransactionAwareCacheDecorator(cache).evict(itemId);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportProgressDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    public void checkUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Не найдено пользователя с id: " + userId);
+        }
+    }
+
+    public void importItems(Long userId, InputStream input, OutputStream output) throws IOException {
+        ItemImportProgressDto progress = new ItemImportProgressDto();
+        List<ItemImportRowDto> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<ItemImportErrorDto> errors = new ArrayList<>();
+        try (MappingIterator<ItemImportRowDto> rows = objectMapper.readerFor(ItemImportRowDto.class).readValues(input)) {
+            while (rows.hasNextValue()) {
+                ItemImportRowDto row = rows.nextValue();
+                if (row.getError() != null) {
+                    fail(row, row.getError(), progress, errors);
+                } else {
+                    chunk.add(row);
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    save(userId, chunk, progress, errors, output);
+                }
+            }
+        }
+        save(userId, chunk, progress, errors, output);
+        for (ItemImportErrorDto error : errors) {
+            write(error, output);
+        }
+        progress.setDone(true);
+        report(progress, output);
+    }
+
+    private void save(Long userId, List<ItemImportRowDto> chunk, ItemImportProgressDto progress,
+                      List<ItemImportErrorDto> errors, OutputStream output) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            itemService.createAll(chunk.stream().map(ItemImportRowDto::getItem).toList(), userId);
+            progress.setProcessed(progress.getProcessed() + chunk.size());
+            progress.setCreated(progress.getCreated() + chunk.size());
+        } catch (RuntimeException e) {
+            for (ItemImportRowDto row : chunk) {
+                saveRow(userId, row, progress, errors);
+            }
+        }
+        chunk.clear();
+        report(progress, output);
+    }
+
+    private void saveRow(Long userId, ItemImportRowDto row, ItemImportProgressDto progress,
+                         List<ItemImportErrorDto> errors) {
+        try {
+            itemService.create(row.getItem(), userId);
+            progress.setProcessed(progress.getProcessed() + 1);
+            progress.setCreated(progress.getCreated() + 1);
+        } catch (RuntimeException e) {
+            fail(row, e.getMessage(), progress, errors);
+        }
+    }
+
+    private void fail(ItemImportRowDto row, String error, ItemImportProgressDto progress,
+                      List<ItemImportErrorDto> errors) {
+        progress.setProcessed(progress.getProcessed() + 1);
+        progress.setFailed(progress.getFailed() + 1);
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ItemImportErrorDto(row.getRow(), error));
+        }
+    }
+
+    private void report(ItemImportProgressDto progress, OutputStream output) throws IOException {
+        write(progress, output);
+        output.flush();
+    }
+
+    private void write(Object line, OutputStream output) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(line));
+        output.write('\n');
+    }
+}
@@ -1,25 +1,57 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.export.ExportWriter;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    @Query("SELECT i " +
-            "FROM Item i " +
-            "WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))" +
-            "AND i.available = true")
-    List<Item> searchAllByTextInNameOrDescription(String text);
-
-    @Query("SELECT i FROM Item i WHERE i.owner.id = :id")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner LEFT JOIN FETCH i.request r LEFT JOIN FETCH r.requester " +
+            "WHERE i.owner.id = :id")
     List<Item> findAllByOwnerId(Long id);
 
-    @Query("SELECT i FROM Item i WHERE i.request.id = :requestId")
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner LEFT JOIN FETCH i.request r LEFT JOIN FETCH r.requester " +
+            "WHERE i.id IN :ids")
+    List<Item> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner WHERE i.request.id = :requestId")
     List<Item> findAllByRequestId(Long requestId);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner JOIN FETCH i.request r JOIN FETCH r.requester " +
+            "WHERE r.id IN :requestIds")
+    List<Item> findAllByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM Item i WHERE i.owner.id = :ownerId ORDER BY i.id")
+    Stream<ItemDto> streamExportByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT i.id FROM Item i LEFT JOIN i.request r WHERE i.owner.id = :userId OR r.requester.id = :userId")
+    List<Long> findIdsByOwnerIdOrRequesterId(@Param("userId") Long userId);
+
+    @Query("SELECT new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description, i.available) FROM Item i")
+    List<IndexedItem> findAllForSearchIndex();
 }
 
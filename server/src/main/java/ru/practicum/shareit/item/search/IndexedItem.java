@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class IndexedItem {
+    private Long id;
+    private String name;
+    private String description;
+    private boolean available;
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.transaction.TransactionCallbacks;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int NAME_EXACT_SCORE = 8;
+    private static final int NAME_PREFIX_SCORE = 4;
+    private static final int NAME_SCORE = 2;
+    private static final int DESCRIPTION_SCORE = 1;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(Hit::id);
+
+    private final ItemRepository itemRepository;
+    private final Map<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        documents.clear();
+        postings.clear();
+        itemRepository.findAllForSearchIndex().forEach(this::index);
+        log.info("Индекс поиска предметов построен, предметов: {}", documents.size());
+    }
+
+    public void index(Item item) {
+        IndexedItem document = toIndexedItem(item);
+        TransactionCallbacks.afterCommit(() -> index(document));
+    }
+
+    public void indexAll(Collection<Item> items) {
+        List<IndexedItem> indexed = items.stream().map(ItemSearchIndex::toIndexedItem).toList();
+        TransactionCallbacks.afterCommit(() -> indexed.forEach(this::index));
+    }
+
+    public synchronized void index(IndexedItem item) {
+        IndexedItem document = new IndexedItem(item.getId(), normalize(item.getName()),
+                normalize(item.getDescription()), item.isAvailable());
+        IndexedItem previous = documents.put(document.getId(), document);
+        if (previous != null) {
+            Set<String> stale = grams(previous);
+            stale.removeAll(grams(document));
+            stale.forEach(gram -> removePosting(gram, document.getId()));
+        }
+        grams(document).forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet())
+                .add(document.getId()));
+    }
+
+    public void removeAll(Collection<Long> itemIds) {
+        List<Long> removed = List.copyOf(itemIds);
+        TransactionCallbacks.afterCommit(() -> removed.forEach(this::remove));
+    }
+
+    public synchronized void remove(Long itemId) {
+        IndexedItem previous = documents.remove(itemId);
+        if (previous != null) {
+            grams(previous).forEach(gram -> removePosting(gram, itemId));
+        }
+    }
+
+    public List<Long> search(String text, int from, int size) {
+        String query = normalize(text);
+        if (query.isBlank()) {
+            return Collections.emptyList();
+        }
+        long limit = (long) from + size;
+        PriorityQueue<Hit> top = new PriorityQueue<>(RANKING.reversed());
+        for (Long id : candidates(query)) {
+            IndexedItem document = documents.get(id);
+            int score = document != null && document.isAvailable() ? score(document, query) : 0;
+            if (score == 0) {
+                continue;
+            }
+            Hit hit = new Hit(id, score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (RANKING.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        return top.stream()
+                .sorted(RANKING)
+                .skip(from)
+                .map(Hit::id)
+                .toList();
+    }
+
+    private Set<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.keySet();
+        }
+        Set<Long> smallest = null;
+        Set<String> queryGrams = grams(query);
+        for (String gram : queryGrams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        Set<Long> result = new HashSet<>(smallest);
+        for (String gram : queryGrams) {
+            result.retainAll(postings.getOrDefault(gram, Collections.emptySet()));
+        }
+        return result;
+    }
+
+    private int score(IndexedItem document, String query) {
+        int score = 0;
+        if (document.getName().equals(query)) {
+            score += NAME_EXACT_SCORE;
+        } else if (document.getName().startsWith(query)) {
+            score += NAME_PREFIX_SCORE;
+        } else if (document.getName().contains(query)) {
+            score += NAME_SCORE;
+        }
+        if (document.getDescription().contains(query)) {
+            score += DESCRIPTION_SCORE;
+        }
+        return score;
+    }
+
+    private void removePosting(String gram, Long itemId) {
+        postings.computeIfPresent(gram, (key, ids) -> {
+            ids.remove(itemId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private record Hit(Long id, int score) {
+    }
+
+    private static IndexedItem toIndexedItem(Item item) {
+        return new IndexedItem(item.getId(), item.getName(), item.getDescription(), item.isAvailable());
+    }
+
+    private static Set<String> grams(IndexedItem document) {
+        Set<String> grams = grams(document.getName());
+        grams.addAll(grams(document.getDescription()));
+        return grams;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
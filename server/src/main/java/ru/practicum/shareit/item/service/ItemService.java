@@ -2,10 +2,15 @@ package ru.practicum.shareit.item.service;
 
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.export.ExportSink;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 @Transactional(readOnly = true)
@@ -14,11 +19,18 @@ public interface ItemService {
 
     Collection<ItemBookingDto> getAllByUser(Long userId);
 
-    Collection<ItemDto> search(String text);
+    Collection<ItemDto> search(String text, Integer from, Integer size);
+
+    ItemAvailabilityDto getAvailability(Long id, LocalDateTime from, LocalDateTime to);
+
+    void exportByOwner(Long userId, ExportSink<ItemDto> sink) throws IOException;
 
     @Transactional
     ItemDto create(ItemDto item, Long userId);
 
+    @Transactional
+    List<ItemDto> createAll(List<ItemDto> items, Long userId);
+
     @Transactional
     ItemDto edit(Long itemId, Long userId, Map<String, Object> updates);
 
@@ -3,7 +3,6 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -14,22 +13,35 @@ import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exception.CommentException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.NotOwnerException;
+import ru.practicum.shareit.exception.PeriodException;
+import ru.practicum.shareit.export.ExportSink;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.cache.ItemBookings;
+import ru.practicum.shareit.item.cache.ItemDetails;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -41,56 +53,70 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
-    private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
 
     public ItemBookingDto get(Long id, Long userId) {
-        List<Booking> lastBookings = bookingRepository.findLastBookingsByItemId(id);
-        BookingDto lastBooking = lastBookings.isEmpty() ? null : bookingMapper
-                .toBookingDto(lastBookings.getFirst());
-
-        List<Booking> upcomingBookings = bookingRepository.findUpcomingBookingsByItemId(id);
-        BookingDto nextBooking = upcomingBookings.isEmpty() ? null : bookingMapper
-                .toBookingDto(upcomingBookings.getFirst());
-
-        List<CommentDto> comments = commentRepository.findAllByItemId(id).stream()
-                .map(commentMapper::toCommentDto).collect(Collectors.toList());
-
-        return itemMapper.toItemBookingDto(findItemById(id), lastBooking, nextBooking, userId, comments);
+        ItemDetails item = itemDetailsCache.getItem(id);
+        ItemBookings bookings = item.ownerId().equals(userId)
+                ? itemDetailsCache.getLastAndNextBookings(id, LocalDateTime.now())
+                : new ItemBookings(null, null);
+        return itemMapper.toItemBookingDto(item, bookings.last(), bookings.next(), userId,
+                itemDetailsCache.getComments(id));
     }
 
     public Collection<ItemBookingDto> getAllByUser(Long userId) {
         List<Item> items = itemRepository.findAllByOwnerId(userId);
         List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
-
-        Map<Long, List<Booking>> lastBookingsMap = bookingRepository.findAllByItemIdIn(itemIds)
-                .stream().collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
-        Map<Long, List<Booking>> upcomingBookingsMap = bookingRepository.findAllByItemIdIn(itemIds)
-                .stream().collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, BookingDto> lastBookingsMap = new HashMap<>();
+        Map<Long, BookingDto> upcomingBookingsMap = new HashMap<>();
+        for (BookingDto booking : bookingRepository.findLastAndNextBookingsByItemIdIn(itemIds, now)) {
+            if (booking.getStart().isAfter(now)) {
+                upcomingBookingsMap.putIfAbsent(booking.getItemId(), booking);
+            } else {
+                lastBookingsMap.putIfAbsent(booking.getItemId(), booking);
+            }
+        }
         Map<Long, List<Comment>> commentsMap = commentRepository.findAllByItemIdIn(itemIds)
                 .stream().collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
 
         return items.stream().map(item -> {
             Long itemId = item.getId();
-            BookingDto lastBooking = lastBookingsMap.getOrDefault(itemId, Collections.emptyList()).isEmpty() ? null :
-                    bookingMapper.toBookingDto(lastBookingsMap.get(itemId).getFirst());
-            BookingDto nextBooking = upcomingBookingsMap.getOrDefault(itemId, Collections.emptyList()).isEmpty() ? null :
-                    bookingMapper.toBookingDto(upcomingBookingsMap.get(itemId).getFirst());
             List<CommentDto> comments = commentsMap.getOrDefault(itemId, Collections.emptyList())
                     .stream().map(commentMapper::toCommentDto).collect(Collectors.toList());
 
-            return itemMapper.toItemBookingDto(item, lastBooking, nextBooking, userId, comments);
+            return itemMapper.toItemBookingDto(item, lastBookingsMap.get(itemId), upcomingBookingsMap.get(itemId),
+                    userId, comments);
         }).collect(Collectors.toList());
     }
 
-
-    public Collection<ItemDto> search(String text) {
+    public Collection<ItemDto> search(String text, Integer from, Integer size) {
         if (text.isEmpty()) return Collections.emptyList();
-        return itemRepository.searchAllByTextInNameOrDescription(text).stream()
+        List<Long> itemIds = itemSearchIndex.search(text, from, size);
+        if (itemIds.isEmpty()) return Collections.emptyList();
+        Map<Long, Item> items = itemRepository.findAllWithDetailsByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    public ItemAvailabilityDto getAvailability(Long id, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new PeriodException("Начало периода должно быть раньше его окончания");
+        }
+        if (!itemRepository.existsById(id)) {
+            throw new NotFoundException("Не найдено предмета с id: " + id);
+        }
+        return itemAvailabilityIndex.getAvailability(id, from, to);
+    }
+
     @Transactional
     public ItemDto create(ItemDto itemDto, Long userId) {
         User user = findUserById(userId);
@@ -100,8 +126,36 @@ public class ItemServiceImpl implements ItemService {
             itemRequest = itemRequestRepository.findById(requestId)
                     .orElseThrow(() -> new NotFoundException("Не найдено запроса предмета с id: " + requestId));
         }
-        Item item = itemMapper.toItem(itemDto, user, itemRequest);
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item item = itemRepository.save(itemMapper.toItem(itemDto, user, itemRequest));
+        itemSearchIndex.index(item);
+        itemDetailsCache.evictItem(item.getId());
+        return itemMapper.toItemDto(item);
+    }
+
+    @Transactional
+    public List<ItemDto> createAll(List<ItemDto> itemDtos, Long userId) {
+        User user = findUserById(userId);
+        List<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        requestIds.stream()
+                .filter(requestId -> !requests.containsKey(requestId))
+                .findFirst()
+                .ifPresent(requestId -> {
+                    throw new NotFoundException("Не найдено запроса предмета с id: " + requestId);
+                });
+        List<Item> items = itemRepository.saveAll(itemDtos.stream()
+                .map(itemDto -> itemMapper.toItem(itemDto, user,
+                        itemDto.getRequestId() == null ? null : requests.get(itemDto.getRequestId())))
+                .toList());
+        itemSearchIndex.indexAll(items);
+        return items.stream()
+                .map(itemMapper::toItemDto)
+                .toList();
     }
 
     @Transactional
@@ -127,7 +181,18 @@ public class ItemServiceImpl implements ItemService {
             throw new NotOwnerException("Вы не являетесь владельцем предмета с id: " + itemId);
         }
 
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemSearchIndex.index(saved);
+        itemDetailsCache.evictItem(itemId);
+        return itemMapper.toItemDto(saved);
+    }
+
+    @Override
+    public void exportByOwner(Long userId, ExportSink<ItemDto> sink) throws IOException {
+        findUserById(userId);
+        try (Stream<ItemDto> items = itemRepository.streamExportByOwnerId(userId)) {
+            sink.write(items);
+        }
     }
 
     @Override
@@ -143,8 +208,9 @@ public class ItemServiceImpl implements ItemService {
         System.out.println(endedBookings);
         for (Booking booking : endedBookings) {
             if (booking.getBooker().getId().equals(userId)) {
-                return commentMapper.toCommentDto(
-                        commentRepository.save(new Comment(0L, text, item, user, LocalDateTime.now())));
+                Comment saved = commentRepository.save(new Comment(0L, text, item, user, LocalDateTime.now()));
+                itemDetailsCache.evictComments(itemId);
+                return commentMapper.toCommentDto(saved);
             }
         }
         throw new CommentException("Вы не можете оставить отзыв на данный предмет.");
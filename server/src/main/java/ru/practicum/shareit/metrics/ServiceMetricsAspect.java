@@ -0,0 +1,56 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    private final MeterRegistry registry;
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlStatementStats stats = SqlStatementStats.current();
+        long statements = stats.getStatements();
+        long sqlNanos = stats.getNanos();
+        long started = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            Tags tags = Tags.of("class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    "method", joinPoint.getSignature().getName());
+            Timer.builder("shareit.service")
+                    .tags(tags)
+                    .tag("exception", exception)
+                    .register(registry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("shareit.service.sql.statements")
+                    .baseUnit("statements")
+                    .tags(tags)
+                    .register(registry)
+                    .record(stats.getStatements() - statements);
+            Timer.builder("shareit.service.sql.time")
+                    .tags(tags)
+                    .register(registry)
+                    .record(stats.getNanos() - sqlNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
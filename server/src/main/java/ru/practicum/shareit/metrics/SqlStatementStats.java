@@ -0,0 +1,31 @@
+package ru.practicum.shareit.metrics;
+
+public final class SqlStatementStats {
+    private static final ThreadLocal<SqlStatementStats> CURRENT = ThreadLocal.withInitial(SqlStatementStats::new);
+
+    private long statements;
+    private long nanos;
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    void statement() {
+        statements++;
+    }
+
+    void executed(long elapsedNanos) {
+        nanos += elapsedNanos;
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,12 +16,14 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 public class ItemRequestController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final ItemRequestService itemRequestService;
 
     @GetMapping
@@ -33,12 +37,24 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public Page<ItemRequestDto> getAllOthers(@RequestHeader(USER_ID_HEADER) Long userId,
-                                             @RequestParam Integer from,
-                                             @RequestParam Integer size) {
+    public Slice<ItemRequestDto> getAllOthers(@RequestHeader(USER_ID_HEADER) Long userId,
+                                              @RequestParam Integer from,
+                                              @RequestParam Integer size) {
         return itemRequestService.getAllOthers(userId, from, size);
     }
 
+    @GetMapping(path = "/all", params = "cursor")
+    public List<ItemRequestDto> getAllOthersAfter(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                  @RequestParam String cursor,
+                                                  @RequestParam(defaultValue = "20") Integer size,
+                                                  HttpServletResponse response) {
+        Window<ItemRequestDto> window = itemRequestService.getAllOthersAfter(userId, ItemRequestCursor.decode(cursor), size);
+        if (window.hasNext() && !window.isEmpty()) {
+            response.setHeader(NEXT_CURSOR_HEADER, ItemRequestCursor.encode(window.positionAt(window.size() - 1)));
+        }
+        return window.getContent();
+    }
+
     @PostMapping
     public ItemRequestDto create(@RequestHeader(USER_ID_HEADER) Long userId, @RequestBody ItemRequestDto itemRequest) {
         return itemRequestService.create(userId, itemRequest);
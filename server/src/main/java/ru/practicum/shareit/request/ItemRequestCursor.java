@@ -0,0 +1,40 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+public final class ItemRequestCursor {
+    private static final String CREATED_KEY = "created";
+    private static final String ID_KEY = "id";
+    private static final String SEPARATOR = "|";
+
+    private ItemRequestCursor() {
+    }
+
+    public static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return ScrollPosition.forward(Map.of(
+                    CREATED_KEY, Instant.parse(value.substring(0, separator)),
+                    ID_KEY, Long.parseLong(value.substring(separator + 1))));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    public static String encode(ScrollPosition position) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        String value = keys.get(CREATED_KEY) + SEPARATOR + keys.get(ID_KEY);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,8 +15,12 @@ import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    @Query("SELECT i FROM ItemRequest i WHERE i.requester.id = :id")
+    @Query("SELECT i FROM ItemRequest i JOIN FETCH i.requester WHERE i.requester.id = :id")
     List<ItemRequest> findByRequesterId(Long id);
 
-    Page<ItemRequest> findAllByOrderByCreatedDesc(Pageable pageable);
+    @EntityGraph(attributePaths = "requester")
+    Slice<ItemRequest> findAllByRequesterIdNotOrderByCreatedDescIdDesc(Long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requester")
+    Window<ItemRequest> findAllByRequesterIdNotOrderByCreatedDescIdDesc(Long userId, ScrollPosition position, Limit limit);
 }
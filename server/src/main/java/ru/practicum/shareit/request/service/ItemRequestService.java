@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request.service;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -12,7 +14,9 @@ public interface ItemRequestService {
 
     ItemRequestDto getById(Long id);
 
-    Page<ItemRequestDto> getAllOthers(Long userId, Integer from, Integer size);
+    Slice<ItemRequestDto> getAllOthers(Long userId, Integer from, Integer size);
+
+    Window<ItemRequestDto> getAllOthersAfter(Long userId, ScrollPosition position, int size);
 
     @Transactional
     ItemRequestDto create(Long userId, ItemRequestDto itemRequest);
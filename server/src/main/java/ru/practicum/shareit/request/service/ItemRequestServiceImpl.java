@@ -1,16 +1,19 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemRequestingDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -20,7 +23,9 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,14 +42,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public Collection<ItemRequestDto> getAllSelf(Long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Не найдено пользователя с id: " + userId));
-        return itemRequestRepository.findByRequesterId(userId).stream()
-                .map(itemRequest -> {
-                    List<ItemRequestingDto> items = itemRepository.findAllByRequestId(itemRequest.getId()).stream()
-                            .map(itemMapper::toItemRequestingDto)
-                            .toList();
-                    return itemRequestMapper.toItemRequestDto(itemRequest, items);
-                })
-                .collect(Collectors.toList());
+        return toItemRequestDtos(itemRequestRepository.findByRequesterId(userId));
     }
 
     @Override
@@ -58,14 +56,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public Page<ItemRequestDto> getAllOthers(Long userId, Integer from, Integer size) {
-        Pageable pageable = PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"));
-        return itemRequestRepository.findAllByOrderByCreatedDesc(pageable).map(itemRequest -> {
-            List<ItemRequestingDto> items = itemRepository.findAllByRequestId(itemRequest.getId()).stream()
-                    .map(itemMapper::toItemRequestingDto)
-                    .toList();
-            return itemRequestMapper.toItemRequestDto(itemRequest, items);
-        });
+    public Slice<ItemRequestDto> getAllOthers(Long userId, Integer from, Integer size) {
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        Slice<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(userId, pageable);
+        return new SliceImpl<>(toItemRequestDtos(itemRequests.getContent()), pageable, itemRequests.hasNext());
+    }
+
+    @Override
+    public Window<ItemRequestDto> getAllOthersAfter(Long userId, ScrollPosition position, int size) {
+        OffsetPageRequest.checkSize(size);
+        Window<ItemRequest> itemRequests = itemRequestRepository
+                .findAllByRequesterIdNotOrderByCreatedDescIdDesc(userId, position, Limit.of(size));
+        return Window.from(toItemRequestDtos(itemRequests.getContent()), itemRequests::positionAt, itemRequests.hasNext());
     }
 
     @Override
@@ -77,4 +79,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         return itemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest), null);
     }
+
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).toList();
+        Map<Long, List<ItemRequestingDto>> itemsByRequestId = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemMapper::toItemRequestingDto, Collectors.toList())));
+        return itemRequests.stream()
+                .map(itemRequest -> itemRequestMapper.toItemRequestDto(itemRequest,
+                        itemsByRequestId.getOrDefault(itemRequest.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
 }
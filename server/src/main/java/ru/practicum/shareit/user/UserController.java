@@ -15,6 +15,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -39,6 +40,12 @@ public class UserController {
         return userService.create(user);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<UserDto> createAll(@RequestBody List<UserDto> users) {
+        return userService.createAll(users);
+    }
+
     @PatchMapping("/{id}")
     public UserDto edit(@PathVariable Long id, @RequestBody Map<String, Object> updates) {
         return userService.edit(id, updates);
@@ -4,6 +4,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 @Transactional(readOnly = true)
@@ -15,6 +16,9 @@ public interface UserService {
     @Transactional
     UserDto create(UserDto user);
 
+    @Transactional
+    List<UserDto> createAll(List<UserDto> users);
+
     @Transactional
     UserDto edit(Long id, Map<String, Object> updates);
 
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -19,6 +22,9 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ItemRepository itemRepository;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemSearchIndex itemSearchIndex;
 
     public UserDto getById(Long userId) {
         return userMapper.toUserDto(userRepository.findById(userId)
@@ -36,6 +42,13 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserDto(userRepository.save(userMapper.toUser(user)));
     }
 
+    @Transactional
+    public List<UserDto> createAll(List<UserDto> users) {
+        return userRepository.saveAll(users.stream().map(userMapper::toUser).toList()).stream()
+                .map(userMapper::toUserDto)
+                .toList();
+    }
+
     @Transactional
     public UserDto edit(Long id, Map<String, Object> updates) {
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("Пользователь с id " + id + " не найден."));
@@ -49,12 +62,17 @@ public class UserServiceImpl implements UserService {
                     break;
             }
         });
+        if (updates.containsKey("name") || updates.containsKey("email")) {
+            itemDetailsCache.evictAll();
+        }
         return userMapper.toUserDto(userRepository.save(user));
     }
 
     @Transactional
     public void delete(Long id) {
+        itemSearchIndex.removeAll(itemRepository.findIdsByOwnerIdOrRequesterId(id));
         userRepository.deleteById(id);
+        itemDetailsCache.evictAll();
     }
 
 }
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.List;
+
+@Component
+public class ResourceEtagFilter extends ShallowEtagHeaderFilter {
+    private static final List<String> PATHS = List.of("/items", "/users", "/requests");
+    private static final String EXPORT_SUFFIX = "/export";
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        if (isStreamed(request)) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PATHS.stream().noneMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+
+    private static boolean isStreamed(HttpServletRequest request) {
+        if (request.getRequestURI().endsWith(EXPORT_SUFFIX)) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(NDJSON);
+    }
+}
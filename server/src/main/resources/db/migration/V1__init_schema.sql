@@ -1,13 +1,7 @@
-drop table if exists users CASCADE;
-drop table if exists requests CASCADE;
-drop table if exists items CASCADE;
-drop table if exists bookings CASCADE;
-drop table if exists comments CASCADE;
-
 CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
-  name VARCHAR(255) NOT NULL,
-  email VARCHAR(255) NOT NULL unique
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE
 );
 
 CREATE TABLE IF NOT EXISTS requests (
@@ -23,7 +17,7 @@ CREATE TABLE IF NOT EXISTS items (
     description VARCHAR(512) NOT NULL,
     is_available BOOLEAN NOT NULL,
     owner_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    request_id BIGINT NOT NULL REFERENCES requests(id) ON DELETE CASCADE
+    request_id BIGINT REFERENCES requests(id) ON DELETE CASCADE
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
@@ -41,4 +35,4 @@ CREATE TABLE IF NOT EXISTS comments (
     item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE,
     author_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     created_date TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
+);
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.StatusException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-approval;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingServiceImpl.class, BookingMapper.class, ItemMapper.class, UserMapper.class, ItemAvailabilityIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BookingApprovalContentionITest {
+    private static final int THREADS = 32;
+    private static final int BOOKINGS = 500;
+    private static final int APPROVALS_PER_BOOKING = 4;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private ItemDetailsCache itemDetailsCache;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "Booker", "booker@mail.ru"));
+        item = itemRepository.save(new Item(null, "Item", "Description", true, owner, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentApprovalsOfWaitingBookingsApproveEachOnce() throws Exception {
+        List<Long> ids = createBookings(BookingStatus.WAITING);
+
+        long approved = approveConcurrently(ids, "WAITING");
+
+        Assertions.assertEquals(BOOKINGS, approved);
+        assertApprovedOnce();
+    }
+
+    @Test
+    void concurrentApprovalsOfRejectedBookingsRetryOnVersionConflict() throws Exception {
+        List<Long> ids = createBookings(BookingStatus.REJECTED);
+
+        long approved = approveConcurrently(ids, "REJECTED");
+
+        Assertions.assertEquals(BOOKINGS, approved);
+        assertApprovedOnce();
+    }
+
+    private List<Long> createBookings(BookingStatus status) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(new Booking(null, base.plusHours(i), base.plusHours(i + 1), item, booker, status, null));
+        }
+        return bookingRepository.saveAll(bookings).stream().map(Booking::getId).toList();
+    }
+
+    private long approveConcurrently(List<Long> ids, String label) throws Exception {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (Long id : ids) {
+            for (int i = 0; i < APPROVALS_PER_BOOKING; i++) {
+                tasks.add(() -> tryApprove(id));
+            }
+        }
+        Collections.shuffle(tasks);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long started = System.nanoTime();
+            long approved = 0;
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    approved++;
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("{}: {} approvals in {} ms ({} per second)", label, tasks.size(), elapsedMillis,
+                    tasks.size() * 1000L / Math.max(elapsedMillis, 1));
+            return approved;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private boolean tryApprove(Long id) {
+        try {
+            bookingService.approve(id, true, owner.getId());
+            return true;
+        } catch (StatusException e) {
+            return false;
+        }
+    }
+
+    private void assertApprovedOnce() {
+        for (Booking booking : bookingRepository.findAll()) {
+            Assertions.assertEquals(BookingStatus.APPROVED, booking.getStatus());
+            Assertions.assertEquals(1L, booking.getVersion());
+        }
+    }
+
+    @TestConfiguration
+    @EnableRetry
+    static class RetryConfig {
+    }
+}
@@ -2,33 +2,58 @@ package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingState;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.export.ExportSink;
+import ru.practicum.shareit.export.ExportWriter;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
+@Import(ExportWriter.class)
 public class BookingControllerITest {
     @MockBean
     private BookingService bookingService;
@@ -36,12 +61,64 @@ public class BookingControllerITest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Test
+    void exportBookingsAsCsv() throws Exception {
+        long userId = 1L;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        doAnswer(invocation -> {
+            invocation.<ExportSink<BookingExportDto>>getArgument(1).write(Stream.of(
+                    new BookingExportDto(1L, start, start.plusDays(1), BookingStatus.APPROVED, 2L, "Drill, cordless", 1L)));
+            return null;
+        }).when(bookingService).exportByUser(eq(userId), any());
+
+        mockMvc.perform(get("/bookings/export")
+                        .param("format", "csv")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().string("id,start,end,status,itemId,itemName,bookerId\n" +
+                        "1,2030-01-01T12:00,2030-01-02T12:00,APPROVED,2,\"Drill, cordless\",1\n"));
+    }
+
+    @Test
+    void exportOwnerBookingsAsGzippedNdjson() throws Exception {
+        long userId = 2L;
+        doAnswer(invocation -> {
+            invocation.<ExportSink<BookingExportDto>>getArgument(1).write(Stream.of(
+                    new BookingExportDto(1L, null, null, BookingStatus.WAITING, 2L, "Drill", 1L)));
+            return null;
+        }).when(bookingService).exportByOwner(eq(userId), any());
+
+        byte[] body = mockMvc.perform(get("/bookings/owner/export")
+                        .param("gzip", "true")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"owner-bookings.ndjson.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            Assertions.assertEquals("{\"id\":1,\"start\":null,\"end\":null,\"status\":\"WAITING\",\"itemId\":2," +
+                    "\"itemName\":\"Drill\",\"bookerId\":1}\n", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportBookingsInUnknownFormat() throws Exception {
+        mockMvc.perform(get("/bookings/export")
+                        .param("format", "xml")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+        verify(bookingService, times(0)).exportByUser(any(), any());
+    }
+
     @Test
     void getBookingsById() throws Exception {
         long bookingId = 1L;
         long userId = 1L;
 
-        when(bookingService.getById(bookingId, userId)).thenReturn(new Booking());
+        when(bookingService.getById(bookingId, userId)).thenReturn(new BookingResponseDto());
 
         mockMvc.perform(get("/bookings/" + bookingId)
                         .header("X-Sharer-User-Id", userId))
@@ -54,8 +131,8 @@ public class BookingControllerITest {
     @EnumSource(BookingState.class)
     void getBookingsByUser(BookingState state) throws Exception {
         long userId = 2L;
-        when(bookingService.getByUser(eq(userId), eq(state.name())))
-                .thenReturn(Collections.emptyList());
+        when(bookingService.getByUser(eq(userId), eq(state.name()), any(), isNull()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", userId)
@@ -63,15 +140,15 @@ public class BookingControllerITest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
 
-        verify(bookingService, times(1)).getByUser(eq(userId), eq(state.name()));
+        verify(bookingService, times(1)).getByUser(eq(userId), eq(state.name()), any(), isNull());
     }
 
     @ParameterizedTest
     @EnumSource(BookingState.class)
     void getBookingsByOwner(BookingState state) throws Exception {
         long userId = 3L;
-        when(bookingService.getByUser(eq(userId), eq(state.name())))
-                .thenReturn(Collections.emptyList());
+        when(bookingService.getByOwner(eq(userId), eq(state.name()), any(), isNull()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", userId)
@@ -79,7 +156,7 @@ public class BookingControllerITest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
 
-        verify(bookingService, times(1)).getByOwner(eq(userId), eq(state.name()));
+        verify(bookingService, times(1)).getByOwner(eq(userId), eq(state.name()), any(), isNull());
     }
 
     @Test
@@ -98,7 +175,7 @@ public class BookingControllerITest {
         objectMapper.registerModule(new JavaTimeModule());
         String bookingJson = objectMapper.writeValueAsString(bookingDto);
 
-        when(bookingService.create(bookingDto, userId)).thenReturn(new Booking());
+        when(bookingService.create(bookingDto, userId)).thenReturn(new BookingResponseDto());
 
         mockMvc.perform(post("/bookings")
                         .header("X-Sharer-User-Id", userId)
@@ -116,7 +193,7 @@ public class BookingControllerITest {
         long bookingId = 2L;
         boolean approved = true;
 
-        when(bookingService.approve(bookingId, approved, userId)).thenReturn(new Booking());
+        when(bookingService.approve(bookingId, approved, userId)).thenReturn(new BookingResponseDto());
 
         mockMvc.perform(patch("/bookings/" + bookingId)
                         .header("X-Sharer-User-Id", userId)
@@ -126,5 +203,77 @@ public class BookingControllerITest {
 
         verify(bookingService, times(1)).approve(bookingId, approved, userId);
     }
-}
 
+    @Test
+    void approveAllBookings() throws Exception {
+        long userId = 5L;
+        List<BookingApprovalDto> approvals = List.of(new BookingApprovalDto(1L, true), new BookingApprovalDto(2L, false));
+        when(bookingService.approveAll(approvals, userId)).thenReturn(List.of(
+                new BookingApprovalResultDto(1L, BookingStatus.APPROVED, null),
+                new BookingApprovalResultDto(2L, null, "У вас не найдено брони с ID = 2")));
+
+        mockMvc.perform(patch("/bookings/approve")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": 1, \"approved\": true}, {\"id\": 2, \"approved\": false}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\": 1, \"status\": \"APPROVED\"}, " +
+                        "{\"id\": 2, \"error\": \"У вас не найдено брони с ID = 2\"}]"));
+
+        verify(bookingService, times(1)).approveAll(approvals, userId);
+    }
+
+    @Test
+    void getBookingsByUserReturnsNextCursor() throws Exception {
+        long userId = 2L;
+        BookingResponseDto booking = new BookingResponseDto();
+        booking.setId(7L);
+        booking.setStart(LocalDateTime.of(2024, 8, 9, 12, 0));
+        ScrollPosition position = ScrollPosition.forward(Map.of("start", booking.getStart(), "id", booking.getId()));
+        when(bookingService.getByUser(eq(userId), eq("ALL"), any(), eq(1)))
+                .thenReturn(Window.from(List.of(booking), index -> position, true));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.encode(position)))
+                .andExpect(content().json("[{\"id\": 7}]"));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1")
+                        .param("cursor", BookingCursor.encode(position)))
+                .andExpect(status().isOk());
+        verify(bookingService, times(1)).getByUser(eq(userId), eq("ALL"), eq(position), eq(1));
+    }
+
+    @Test
+    void getBookingsByUserWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("cursor", "invalid"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamBookingsByOwner() throws Exception {
+        long userId = 3L;
+        BookingResponseDto first = new BookingResponseDto();
+        first.setId(1L);
+        BookingResponseDto second = new BookingResponseDto();
+        second.setId(2L);
+        when(bookingService.streamByOwner(userId, "ALL")).thenReturn(Stream.of(first, second));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"id\":1")));
+        Assertions.assertEquals(2, result.getResponse().getContentAsString().lines().count());
+    }
+}
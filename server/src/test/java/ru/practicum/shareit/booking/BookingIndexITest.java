@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingIndexITest {
+    private final EntityManager entityManager;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC, id DESC;BOOKER_ID =",
+            "SELECT * FROM bookings WHERE booker_id = 1 AND end_date < NOW() ORDER BY start_date DESC;BOOKER_ID =",
+            "SELECT * FROM bookings WHERE booker_id = 1 AND status = 'WAITING' ORDER BY start_date DESC;BOOKER_ID =",
+            "SELECT * FROM bookings WHERE item_id = 1 AND status = 'APPROVED' AND start_date <= NOW();ITEM_ID =",
+            "SELECT b.* FROM bookings b JOIN items i ON i.id = b.item_id WHERE i.owner_id = 1;OWNER_ID ="
+    })
+    void bookingQueriesUseIndexScans(String query, String indexCondition) {
+        String plan = String.valueOf(entityManager.createNativeQuery("EXPLAIN " + query).getSingleResult());
+
+        Assertions.assertFalse(plan.contains("tableScan"), plan);
+        Assertions.assertTrue(plan.contains(indexCondition), plan);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void migrationCreatesBookingIndexes() {
+        List<String> indexes = entityManager.createNativeQuery(
+                        "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) = 'bookings'")
+                .getResultList();
+
+        Assertions.assertTrue(indexes.containsAll(List.of(
+                "ix_bookings_booker_start",
+                "ix_bookings_booker_status_start",
+                "ix_bookings_item_status_start")), indexes.toString());
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-overlap;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingServiceImpl.class, BookingMapper.class, ItemMapper.class, UserMapper.class, ItemAvailabilityIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BookingOverlapITest {
+    private static final int THREADS = 32;
+    private static final int REQUESTS = 1000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private ItemDetailsCache itemDetailsCache;
+
+    private Item item;
+    private List<User> bookers;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@mail.ru"));
+        item = itemRepository.save(new Item(null, "Item", "Description", true, owner, null));
+        bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(new User(null, "Booker" + i, "booker" + i + "@mail.ru")));
+        }
+        base = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentRequestsForTheSameSlotProduceOneBooking() throws Exception {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (User booker : bookers) {
+            tasks.add(() -> tryCreate(booker, base, base.plusHours(2)));
+        }
+
+        long created = run(tasks);
+
+        Assertions.assertEquals(1, created);
+        Assertions.assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void concurrentRandomRequestsNeverOverlap() throws Exception {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            User booker = bookers.get(i % bookers.size());
+            tasks.add(() -> {
+                LocalDateTime start = base.plusHours(ThreadLocalRandom.current().nextInt(500));
+                return tryCreate(booker, start, start.plusHours(1 + ThreadLocalRandom.current().nextInt(6)));
+            });
+        }
+
+        long created = run(tasks);
+
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.WAITING)
+                .sorted(Comparator.comparing(Booking::getStart))
+                .toList();
+        Assertions.assertEquals(created, bookings.size());
+        for (int i = 1; i < bookings.size(); i++) {
+            Assertions.assertFalse(bookings.get(i).getStart().isBefore(bookings.get(i - 1).getEnd()),
+                    "Пересекаются брони " + bookings.get(i - 1).getId() + " и " + bookings.get(i).getId());
+        }
+    }
+
+    private boolean tryCreate(User booker, LocalDateTime start, LocalDateTime end) {
+        BookingDto booking = new BookingDto();
+        booking.setItemId(item.getId());
+        booking.setStart(start);
+        booking.setEnd(end);
+        try {
+            bookingService.create(booking, booker.getId());
+            return true;
+        } catch (BookingOverlapException e) {
+            return false;
+        }
+    }
+
+    private static long run(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long created = 0;
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    created++;
+                }
+            }
+            return created;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -18,8 +25,10 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.dto.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.dto.BookingStatus.WAITING;
@@ -31,6 +40,7 @@ public class BookingRepositoryITest {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final TestEntityManager entityManager;
 
     private Item item;
     private User booker;
@@ -87,13 +97,44 @@ public class BookingRepositoryITest {
         Assertions.assertEquals(booking.getId(), result.get().getId());
     }
 
+    @Test
+    void findWithDetailsById() {
+        LocalDateTime start = LocalDateTime.of(2024, 8, 9, 12, 0);
+        Booking booking = createBooking(BookingStatus.APPROVED, item, booker, start, start.plusMinutes(30));
+        entityManager.flush();
+        entityManager.clear();
+
+        Booking result = bookingRepository.findWithDetailsById(booking.getId()).orElseThrow();
+        Assertions.assertTrue(Hibernate.isInitialized(result.getItem()));
+        Assertions.assertTrue(Hibernate.isInitialized(result.getBooker()));
+        Assertions.assertEquals(owner.getId(), result.getItem().getOwner().getId());
+    }
+
+    @Test
+    void findAllByItemOwnerIdFetchesItemAndBooker() {
+        LocalDateTime start = LocalDateTime.of(2024, 8, 9, 12, 0);
+        createBooking(BookingStatus.APPROVED, item, booker, start, start.plusMinutes(30));
+        createBooking(WAITING, item, booker, start.plusDays(1), start.plusDays(2));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> result = bookingRepository
+                .findAllByItemOwnerIdOrderByStartDescIdDesc(owner.getId(), ScrollPosition.keyset(), Limit.of(10)).getContent();
+        Assertions.assertEquals(2, result.size());
+        for (Booking booking : result) {
+            Assertions.assertTrue(Hibernate.isInitialized(booking.getItem()));
+            Assertions.assertTrue(Hibernate.isInitialized(booking.getItem().getOwner()));
+            Assertions.assertTrue(Hibernate.isInitialized(booking.getBooker()));
+        }
+    }
+
     @Test
     void findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc() {
         LocalDateTime now = LocalDateTime.now();
         Booking booking = createBooking(BookingStatus.APPROVED, item, booker, now.minusMinutes(10), now.plusMinutes(30));
 
         List<Booking> result = bookingRepository
-                .findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(booker.getId(), now, now);
+                .findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(booker.getId(), now, now, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -107,7 +148,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.APPROVED, item, booker, now.minusMinutes(10), now.minusMinutes(5));
 
         List<Booking> result = bookingRepository
-                .findAllByBookerIdAndEndBeforeOrderByStartDesc(booker.getId(), now);
+                .findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(booker.getId(), now, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -121,7 +162,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.APPROVED, item, booker, now.plusMinutes(10), now.plusMinutes(15));
 
         List<Booking> result = bookingRepository
-                .findAllByBookerIdAndStartAfterOrderByStartDesc(booker.getId(), now);
+                .findAllByBookerIdAndStartAfterOrderByStartDescIdDesc(booker.getId(), now, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -135,7 +176,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.WAITING, item, booker, now.plusMinutes(10), now.plusMinutes(15));
 
         List<Booking> result = bookingRepository
-                .findAllByBookerIdAndStatusOrderByStartDesc(booker.getId(), WAITING);
+                .findAllByBookerIdAndStatusOrderByStartDescIdDesc(booker.getId(), WAITING, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -149,7 +190,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.REJECTED, item, booker, now.plusMinutes(10), now.plusMinutes(15));
 
         List<Booking> result = bookingRepository
-                .findAllByBookerIdAndStatusOrderByStartDesc(booker.getId(), REJECTED);
+                .findAllByBookerIdAndStatusOrderByStartDescIdDesc(booker.getId(), REJECTED, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -163,7 +204,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.APPROVED, item, booker, now.plusMinutes(10), now.plusMinutes(15));
 
         List<Booking> result = bookingRepository
-                .findAllByBookerIdOrderByStartDesc(booker.getId());
+                .findAllByBookerIdOrderByStartDescIdDesc(booker.getId(), ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -171,6 +212,19 @@ public class BookingRepositoryITest {
         Assertions.assertEquals(booking.getStart(), result.getFirst().getStart());
     }
 
+    @Test
+    void findAllByBookerIdWithUnlimitedLimitReturnsEveryBooking() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 25; i++) {
+            createBooking(BookingStatus.APPROVED, item, booker, now.plusDays(i), now.plusDays(i).plusHours(1));
+        }
+
+        Window<Booking> result = bookingRepository
+                .findAllByBookerIdOrderByStartDescIdDesc(booker.getId(), ScrollPosition.keyset(), Limit.unlimited());
+        Assertions.assertEquals(25, result.size());
+        Assertions.assertFalse(result.hasNext());
+    }
+
 
     @Test
     void findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc() {
@@ -178,7 +232,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.APPROVED, item, booker, now.minusMinutes(10), now.plusMinutes(30));
 
         List<Booking> result = bookingRepository
-                .findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(owner.getId(), now, now);
+                .findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(owner.getId(), now, now, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -192,7 +246,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.APPROVED, item, booker, now.minusMinutes(10), now.minusMinutes(5));
 
         List<Booking> result = bookingRepository
-                .findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(owner.getId(), now);
+                .findAllByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(owner.getId(), now, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -206,7 +260,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.APPROVED, item, booker, now.plusMinutes(10), now.plusMinutes(15));
 
         List<Booking> result = bookingRepository
-                .findAllByItemOwnerIdAndStartAfterOrderByStartDesc(owner.getId(), now);
+                .findAllByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(owner.getId(), now, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -220,7 +274,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.WAITING, item, booker, now.plusMinutes(10), now.plusMinutes(15));
 
         List<Booking> result = bookingRepository
-                .findAllByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), WAITING);
+                .findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(owner.getId(), WAITING, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -234,7 +288,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.REJECTED, item, booker, now.plusMinutes(10), now.plusMinutes(15));
 
         List<Booking> result = bookingRepository
-                .findAllByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), REJECTED);
+                .findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(owner.getId(), REJECTED, ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -248,7 +302,7 @@ public class BookingRepositoryITest {
         Booking booking = createBooking(BookingStatus.APPROVED, item, booker, now.plusMinutes(10), now.plusMinutes(15));
 
         List<Booking> result = bookingRepository
-                .findAllByItemOwnerIdOrderByStartDesc(owner.getId());
+                .findAllByItemOwnerIdOrderByStartDescIdDesc(owner.getId(), ScrollPosition.keyset(), Limit.of(10)).getContent();
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(booking.getId(), result.getFirst().getId());
@@ -284,4 +338,112 @@ public class BookingRepositoryITest {
         Assertions.assertEquals(booking.getStart(), result.getFirst().getStart());
     }
 
+    @Test
+    void findLastAndNextBookingsByItemIdIn() {
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(BookingStatus.APPROVED, item, booker, now.minusDays(3), now.minusDays(2));
+        Booking last = createBooking(BookingStatus.APPROVED, item, booker, now.minusHours(3), now.minusHours(2));
+        Booking next = createBooking(BookingStatus.APPROVED, item, booker, now.plusHours(2), now.plusHours(3));
+        createBooking(BookingStatus.APPROVED, item, booker, now.plusDays(2), now.plusDays(3));
+        createBooking(BookingStatus.WAITING, item, booker, now.plusMinutes(10), now.plusMinutes(15));
+
+        List<BookingDto> result = bookingRepository
+                .findLastAndNextBookingsByItemIdIn(List.of(item.getId()), now);
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertTrue(result.stream().anyMatch(booking -> booking.getId().equals(last.getId())));
+        Assertions.assertTrue(result.stream().anyMatch(booking -> booking.getId().equals(next.getId())));
+        Assertions.assertTrue(result.stream().allMatch(booking -> booking.getItemId().equals(item.getId())));
+    }
+
+    @Test
+    void findAllByBookerIdOrderByStartDescIdDescScrollsByKeyset() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = createBooking(BookingStatus.APPROVED, item, booker, start.plusHours(2), start.plusHours(3));
+        Booking second = createBooking(BookingStatus.APPROVED, item, booker, start, start.plusHours(1));
+        Booking third = createBooking(BookingStatus.APPROVED, item, booker, start, start.plusHours(1));
+
+        Window<Booking> page = bookingRepository
+                .findAllByBookerIdOrderByStartDescIdDesc(booker.getId(), ScrollPosition.keyset(), Limit.of(2));
+        Assertions.assertEquals(List.of(first.getId(), third.getId()),
+                page.getContent().stream().map(Booking::getId).toList());
+        Assertions.assertTrue(page.hasNext());
+
+        Window<Booking> next = bookingRepository
+                .findAllByBookerIdOrderByStartDescIdDesc(booker.getId(), page.positionAt(1), Limit.of(2));
+        Assertions.assertEquals(List.of(second.getId()), next.getContent().stream().map(Booking::getId).toList());
+        Assertions.assertFalse(next.hasNext());
+    }
+
+    @Test
+    void findOwnedBookingsByIdInSkipsOtherOwners() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking owned = createBooking(WAITING, item, booker, start, start.plusHours(1));
+        Item otherItem = createItem("Other", "Description", true, booker, null);
+        Booking foreign = createBooking(WAITING, otherItem, owner, start, start.plusHours(1));
+
+        List<BookingDto> result = bookingRepository.findOwnedBookingsByIdIn(
+                List.of(owned.getId(), foreign.getId()), owner.getId());
+
+        Assertions.assertEquals(List.of(owned.getId()), result.stream().map(BookingDto::getId).toList());
+        Assertions.assertEquals(item.getId(), result.getFirst().getItemId());
+    }
+
+    @Test
+    void updateStatusesApprovesAndRejectsInOneStatement() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking approved = createBooking(WAITING, item, booker, start, start.plusHours(1));
+        Booking rejected = createBooking(WAITING, item, booker, start.plusHours(2), start.plusHours(3));
+        Booking alreadyApproved = createBooking(BookingStatus.APPROVED, item, booker, start.plusHours(4), start.plusHours(5));
+        Booking alreadyRejected = createBooking(REJECTED, item, booker, start.plusHours(6), start.plusHours(7));
+        entityManager.flush();
+        entityManager.clear();
+
+        int updated = bookingRepository.updateStatuses(
+                List.of(approved.getId(), rejected.getId(), alreadyApproved.getId(), alreadyRejected.getId()),
+                List.of(approved.getId(), alreadyRejected.getId()));
+        entityManager.clear();
+
+        Assertions.assertEquals(2, updated);
+        Assertions.assertEquals(BookingStatus.APPROVED, bookingRepository.findById(approved.getId()).orElseThrow().getStatus());
+        Assertions.assertEquals(REJECTED, bookingRepository.findById(rejected.getId()).orElseThrow().getStatus());
+        Assertions.assertEquals(1L, bookingRepository.findById(rejected.getId()).orElseThrow().getVersion());
+        Assertions.assertEquals(0L, bookingRepository.findById(alreadyApproved.getId()).orElseThrow().getVersion());
+        Assertions.assertEquals(REJECTED, bookingRepository.findById(alreadyRejected.getId()).orElseThrow().getStatus());
+        Assertions.assertEquals(0L, bookingRepository.findById(alreadyRejected.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void updateStatusesRejectsAllWithoutApprovals() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = createBooking(WAITING, item, booker, start, start.plusHours(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        Assertions.assertEquals(1, bookingRepository.updateStatuses(List.of(booking.getId()), List.of()));
+        entityManager.clear();
+        Assertions.assertEquals(REJECTED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void streamExportByBookerAndOwner() {
+        LocalDateTime start = LocalDateTime.of(2024, 8, 9, 12, 0);
+        Booking first = createBooking(BookingStatus.APPROVED, item, booker, start, start.plusHours(1));
+        Booking second = createBooking(WAITING, item, booker, start.plusDays(1), start.plusDays(1).plusHours(1));
+        createBooking(WAITING, item, owner, start.plusDays(2), start.plusDays(2).plusHours(1));
+
+        try (Stream<BookingExportDto> bookings = bookingRepository.streamExportByBookerId(booker.getId())) {
+            Assertions.assertEquals(List.of(
+                    new BookingExportDto(second.getId(), second.getStart(), second.getEnd(), WAITING,
+                            item.getId(), "Item", booker.getId()),
+                    new BookingExportDto(first.getId(), first.getStart(), first.getEnd(), BookingStatus.APPROVED,
+                            item.getId(), "Item", booker.getId())), bookings.toList());
+        }
+        try (Stream<BookingExportDto> bookings = bookingRepository.streamExportByOwnerId(owner.getId())) {
+            Assertions.assertEquals(3, bookings.count());
+        }
+        try (Stream<BookingExportDto> bookings = bookingRepository.streamExportByOwnerId(booker.getId())) {
+            Assertions.assertEquals(0, bookings.count());
+        }
+    }
 }
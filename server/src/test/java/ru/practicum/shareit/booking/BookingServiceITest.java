@@ -5,25 +5,42 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.AvailabilityException;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PaginationException;
 import ru.practicum.shareit.exception.StatusException;
 import ru.practicum.shareit.exception.UnsupportedStateException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -40,6 +57,8 @@ public class BookingServiceITest {
     private BookingRepository bookingRepository;
     private UserRepository userRepository;
     private ItemRepository itemRepository;
+    private ItemDetailsCache itemDetailsCache;
+    private ItemAvailabilityIndex itemAvailabilityIndex;
 
     private User user;
     private Item item;
@@ -50,8 +69,11 @@ public class BookingServiceITest {
         bookingRepository = mock(BookingRepository.class);
         userRepository = mock(UserRepository.class);
         itemRepository = mock(ItemRepository.class);
-        BookingMapper bookingMapper = new BookingMapper(itemRepository, userRepository);
-        bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userRepository, bookingMapper);
+        BookingMapper bookingMapper = new BookingMapper(new UserMapper());
+        itemDetailsCache = mock(ItemDetailsCache.class);
+        itemAvailabilityIndex = mock(ItemAvailabilityIndex.class);
+        bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userRepository, bookingMapper,
+                itemDetailsCache, itemAvailabilityIndex);
         user = new User(1L, "User", "user@mail.ru");
         item = new Item(1L, "Item", "Description", true, null, null);
         item.setOwner(new User(2L, "User2", "user2@mail.ru"));
@@ -70,11 +92,18 @@ public class BookingServiceITest {
         booking.setEnd(booking.getStart().plusMinutes(30));
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithDetailsById(bookingId)).thenReturn(Optional.of(booking));
 
-        Booking result = bookingService.getById(bookingId, user.getId());
+        ItemRequest request = new ItemRequest(3L, "Need an item", user, Instant.parse("2024-08-01T10:00:00Z"));
+        item.setRequest(request);
+
+        BookingResponseDto result = bookingService.getById(bookingId, user.getId());
         Assertions.assertNotNull(result);
-        verify(bookingRepository, times(1)).findById(any());
+        Assertions.assertEquals(new UserDto(2L, "User2", "user2@mail.ru"), result.getItem().getOwner());
+        Assertions.assertEquals(request, result.getItem().getRequest());
+        Assertions.assertEquals(user, result.getItem().getRequest().getRequester());
+        Assertions.assertNotSame(request, result.getItem().getRequest());
+        verify(bookingRepository, times(1)).findWithDetailsById(any());
     }
 
     @Test
@@ -89,7 +118,7 @@ public class BookingServiceITest {
         booking.setEnd(booking.getStart().plusMinutes(30));
 
         when(userRepository.findById(any())).thenReturn(Optional.of(user));
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithDetailsById(bookingId)).thenReturn(Optional.of(booking));
 
         user.setId(2L);
 
@@ -98,7 +127,7 @@ public class BookingServiceITest {
         });
 
         assertEquals("У вас не найдено такой брони или предмета.", exception.getMessage());
-        verify(bookingRepository, times(1)).findById(any());
+        verify(bookingRepository, times(1)).findWithDetailsById(any());
     }
 
     @ParameterizedTest
@@ -106,20 +135,20 @@ public class BookingServiceITest {
     void getByUser(BookingState state) throws Exception {
         when(userRepository.findById(user.getId()))
                 .thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(eq(user.getId()), any(), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(eq(user.getId())))
-                .thenReturn(Collections.emptyList());
-
-        List<Booking> result = bookingService.getByUser(user.getId(), state.name());
+        when(bookingRepository.findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(eq(user.getId()), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+
+        Window<BookingResponseDto> result = bookingService.getByUser(user.getId(), state.name(), ScrollPosition.keyset(), 10);
         Assertions.assertNotNull(result);
         Assertions.assertTrue(result.isEmpty());
     }
@@ -130,33 +159,73 @@ public class BookingServiceITest {
                 .thenReturn(Optional.of(user));
 
         Exception exception = assertThrows(UnsupportedStateException.class, () -> {
-            bookingService.getByUser(user.getId(), "SOMEUNSUPPORTEDSTATE");
+            bookingService.getByUser(user.getId(), "SOMEUNSUPPORTEDSTATE", ScrollPosition.keyset(), 10);
         });
 
         assertEquals("Неизвестное состояние: SOMEUNSUPPORTEDSTATE", exception.getMessage());
     }
 
+    @Test
+    void getByUserWithoutSizeOrCursorIsUnpaged() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(eq(user.getId()), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+
+        bookingService.getByUser(user.getId(), "ALL", ScrollPosition.keyset(), null);
+
+        verify(bookingRepository, times(1))
+                .findAllByBookerIdOrderByStartDescIdDesc(user.getId(), ScrollPosition.keyset(), Limit.unlimited());
+    }
+
+    @Test
+    void getByOwnerWithCursorAndWithoutSizeUsesDefaultPageSize() {
+        ScrollPosition position = ScrollPosition.forward(Map.of("start", LocalDateTime.now(), "id", 5L));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findAllByItemOwnerIdOrderByStartDescIdDesc(eq(user.getId()), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+
+        bookingService.getByOwner(user.getId(), "ALL", position, null);
+
+        verify(bookingRepository, times(1))
+                .findAllByItemOwnerIdOrderByStartDescIdDesc(user.getId(), position, Limit.of(20));
+    }
+
+    @Test
+    void getByUserWithNonPositiveSize() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        Exception exception = assertThrows(PaginationException.class, () -> {
+            bookingService.getByUser(user.getId(), "ALL", ScrollPosition.keyset(), 0);
+        });
+
+        assertEquals("Параметр size должен быть положительным: 0", exception.getMessage());
+    }
+
     @ParameterizedTest
     @EnumSource(BookingState.class)
     void getByOwner(BookingState state) throws Exception {
         when(userRepository.findById(user.getId()))
                 .thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(eq(user.getId()), any(), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(eq(user.getId())))
-                .thenReturn(Collections.emptyList());
-
-        List<Booking> result = bookingService.getByOwner(user.getId(), state.name());
+        when(bookingRepository.findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+        when(bookingRepository.findAllByItemOwnerIdOrderByStartDescIdDesc(eq(user.getId()), any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
+
+        Window<BookingResponseDto> result = bookingService.getByOwner(user.getId(), state.name(), ScrollPosition.keyset(), 10);
         Assertions.assertNotNull(result);
         Assertions.assertTrue(result.isEmpty());
+
+        try (Stream<BookingResponseDto> stream = bookingService.streamByOwner(user.getId(), state.name())) {
+            Assertions.assertEquals(0, stream.count());
+        }
     }
 
     @Test
@@ -170,7 +239,7 @@ public class BookingServiceITest {
         booking.setEnd(booking.getStart().plusMinutes(30));
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any())).thenReturn(booking);
 
         BookingDto bookingDto = new BookingDto();
@@ -180,10 +249,11 @@ public class BookingServiceITest {
         bookingDto.setStart(LocalDateTime.of(2024, 8, 9, 12, 0));
         bookingDto.setEnd(bookingDto.getStart().plusMinutes(30));
 
-        Booking result = bookingService.create(bookingDto, user.getId());
+        BookingResponseDto result = bookingService.create(bookingDto, user.getId());
 
         Assertions.assertNotNull(result);
         verify(bookingRepository, times(1)).save(any());
+        verify(itemAvailabilityIndex, times(1)).book(any());
     }
 
     @Test
@@ -198,7 +268,7 @@ public class BookingServiceITest {
         booking.setEnd(booking.getStart().plusMinutes(30));
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any())).thenReturn(booking);
 
         BookingDto bookingDto = new BookingDto();
@@ -216,26 +286,84 @@ public class BookingServiceITest {
         verify(bookingRepository, times(0)).save(any());
     }
 
+    @Test
+    void createOverlappingBooking() {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.of(2024, 8, 9, 12, 0));
+        bookingDto.setEnd(bookingDto.getStart().plusMinutes(30));
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlappingBooking(item.getId(), bookingDto.getStart(), bookingDto.getEnd()))
+                .thenReturn(true);
+
+        Exception exception = assertThrows(BookingOverlapException.class, () ->
+                bookingService.create(bookingDto, user.getId()));
+
+        assertEquals("Предмет уже забронирован на выбранное время", exception.getMessage());
+        verify(bookingRepository, times(0)).save(any());
+    }
+
     @Test
     void approveBooking() {
         Booking booking = new Booking();
         booking.setId(1L);
         booking.setBooker(user);
         booking.setItem(ownedItem);
-        booking.setStatus(BookingStatus.WAITING);
+        booking.setStatus(BookingStatus.APPROVED);
         booking.setStart(LocalDateTime.of(2024, 8, 9, 12, 0));
         booking.setEnd(booking.getStart().plusMinutes(30));
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(ownedItem.getId())).thenReturn(Optional.of(ownedItem));
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.updateWaitingStatus(booking.getId(), user.getId(), BookingStatus.APPROVED)).thenReturn(1);
+        when(bookingRepository.findWithDetailsById(booking.getId())).thenReturn(Optional.of(booking));
 
-        Booking result = bookingService.approve(booking.getId(), true, user.getId());
+        BookingResponseDto result = bookingService.approve(booking.getId(), true, user.getId());
 
-        Assertions.assertNotNull(result);
-        verify(bookingRepository, times(1)).save(any());
+        assertEquals(BookingStatus.APPROVED, result.getStatus());
+        verify(bookingRepository, times(0)).saveAndFlush(any());
+        verify(itemDetailsCache, times(1)).evictBookings(ownedItem.getId());
+        verify(itemAvailabilityIndex, times(0)).release(any(), any());
+
+    }
+
+    @Test
+    void rejectBookingReleasesPeriod() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setBooker(user);
+        booking.setItem(ownedItem);
+        booking.setStatus(BookingStatus.REJECTED);
+        booking.setStart(LocalDateTime.of(2024, 8, 9, 12, 0));
+        booking.setEnd(booking.getStart().plusMinutes(30));
+
+        when(bookingRepository.updateWaitingStatus(booking.getId(), user.getId(), BookingStatus.REJECTED)).thenReturn(1);
+        when(bookingRepository.findWithDetailsById(booking.getId())).thenReturn(Optional.of(booking));
+
+        BookingResponseDto result = bookingService.approve(booking.getId(), false, user.getId());
+
+        assertEquals(BookingStatus.REJECTED, result.getStatus());
+        verify(itemAvailabilityIndex, times(1)).release(ownedItem.getId(), booking.getId());
+    }
 
+    @Test
+    void approveRejectedBooking() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setBooker(user);
+        booking.setItem(ownedItem);
+        booking.setStatus(BookingStatus.REJECTED);
+        booking.setStart(LocalDateTime.of(2024, 8, 9, 12, 0));
+        booking.setEnd(booking.getStart().plusMinutes(30));
+
+        when(bookingRepository.findWithDetailsById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
+
+        BookingResponseDto result = bookingService.approve(booking.getId(), true, user.getId());
+
+        assertEquals(BookingStatus.APPROVED, result.getStatus());
+        verify(bookingRepository, times(1)).saveAndFlush(any());
+        verify(itemAvailabilityIndex, times(1)).book(any());
     }
 
     @Test
@@ -250,15 +378,60 @@ public class BookingServiceITest {
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRepository.findById(ownedItem.getId())).thenReturn(Optional.of(ownedItem));
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.findWithDetailsById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         Exception exception = assertThrows(StatusException.class, () -> {
             bookingService.approve(booking.getId(), true, user.getId());
         });
 
         assertEquals("Нельзя подтвердить бронь, которая уже подтверждена.", exception.getMessage());
-        verify(bookingRepository, times(0)).save(any());
+        verify(bookingRepository, times(0)).saveAndFlush(any());
+
+    }
 
+    @Test
+    void approveAllReportsResultPerBooking() {
+        LocalDateTime start = LocalDateTime.of(2024, 8, 9, 12, 0);
+        BookingDto waiting = new BookingDto(1L, start, start.plusHours(1), ownedItem.getId(), 3L, BookingStatus.WAITING);
+        BookingDto rejected = new BookingDto(2L, start, start.plusHours(1), ownedItem.getId(), 3L, BookingStatus.WAITING);
+        BookingDto approved = new BookingDto(3L, start, start.plusHours(1), ownedItem.getId(), 3L, BookingStatus.APPROVED);
+        BookingDto alreadyRejected = new BookingDto(5L, start, start.plusHours(1), ownedItem.getId(), 3L,
+                BookingStatus.REJECTED);
+        when(bookingRepository.findOwnedBookingsByIdIn(any(), eq(user.getId())))
+                .thenReturn(List.of(waiting, rejected, approved, alreadyRejected));
+        when(bookingRepository.updateStatuses(List.of(1L, 2L), List.of(1L))).thenReturn(2);
+
+        List<BookingApprovalResultDto> results = bookingService.approveAll(List.of(
+                new BookingApprovalDto(1L, true),
+                new BookingApprovalDto(2L, false),
+                new BookingApprovalDto(3L, true),
+                new BookingApprovalDto(4L, true),
+                new BookingApprovalDto(1L, false),
+                new BookingApprovalDto(5L, true)), user.getId());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 1L, 5L), results.stream().map(BookingApprovalResultDto::getId).toList());
+        assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+        assertEquals(BookingStatus.REJECTED, results.get(1).getStatus());
+        assertEquals("Нельзя подтвердить бронь, которая уже подтверждена.", results.get(2).getError());
+        assertEquals("У вас не найдено брони с ID = 4", results.get(3).getError());
+        assertEquals("Бронь с ID = 1 указана несколько раз", results.get(4).getError());
+        assertEquals("Нельзя изменить бронь, которая уже отклонена.", results.get(5).getError());
+        verify(bookingRepository, times(1)).findOwnedBookingsByIdIn(any(), eq(user.getId()));
+        verify(bookingRepository, times(1)).updateStatuses(any(), any());
+        verify(itemAvailabilityIndex, times(1)).release(ownedItem.getId(), 2L);
+        verify(itemAvailabilityIndex, times(1)).book(waiting);
+    }
+
+    @Test
+    void approveAllFailsWhenBookingChangedConcurrently() {
+        LocalDateTime start = LocalDateTime.of(2024, 8, 9, 12, 0);
+        BookingDto waiting = new BookingDto(1L, start, start.plusHours(1), ownedItem.getId(), 3L, BookingStatus.WAITING);
+        when(bookingRepository.findOwnedBookingsByIdIn(any(), eq(user.getId()))).thenReturn(List.of(waiting));
+        when(bookingRepository.updateStatuses(any(), any())).thenReturn(0);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> bookingService.approveAll(List.of(new BookingApprovalDto(1L, true)), user.getId()));
+        verify(itemAvailabilityIndex, times(0)).book(any());
     }
 }
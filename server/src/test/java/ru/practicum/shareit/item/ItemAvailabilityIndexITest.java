@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemAvailabilityIndexITest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        itemAvailabilityIndex = new ItemAvailabilityIndex(bookingRepository);
+        when(bookingRepository.findActiveBookingPeriods()).thenReturn(List.of(
+                booking(1L, 1L, DAY.plusHours(2), DAY.plusHours(4)),
+                booking(2L, 1L, DAY.plusHours(4), DAY.plusHours(5)),
+                booking(3L, 1L, DAY.plusHours(8), DAY.plusHours(10)),
+                booking(4L, 2L, DAY.plusHours(1), DAY.plusHours(3))));
+        itemAvailabilityIndex.rebuild();
+    }
+
+    @Test
+    void availabilityMergesAdjacentBookingsAndListsGaps() {
+        ItemAvailabilityDto result = itemAvailabilityIndex.getAvailability(1L, DAY, DAY.plusHours(12));
+
+        Assertions.assertEquals(List.of(
+                new PeriodDto(DAY.plusHours(2), DAY.plusHours(5)),
+                new PeriodDto(DAY.plusHours(8), DAY.plusHours(10))), result.getBusy());
+        Assertions.assertEquals(List.of(
+                new PeriodDto(DAY, DAY.plusHours(2)),
+                new PeriodDto(DAY.plusHours(5), DAY.plusHours(8)),
+                new PeriodDto(DAY.plusHours(10), DAY.plusHours(12))), result.getFree());
+    }
+
+    @Test
+    void availabilityClipsBookingsToRequestedWindow() {
+        ItemAvailabilityDto result = itemAvailabilityIndex.getAvailability(1L, DAY.plusHours(3), DAY.plusHours(9));
+
+        Assertions.assertEquals(List.of(
+                new PeriodDto(DAY.plusHours(3), DAY.plusHours(5)),
+                new PeriodDto(DAY.plusHours(8), DAY.plusHours(9))), result.getBusy());
+        Assertions.assertEquals(List.of(new PeriodDto(DAY.plusHours(5), DAY.plusHours(8))), result.getFree());
+    }
+
+    @Test
+    void availabilityFindsLongBookingStartingBeforeWindow() {
+        itemAvailabilityIndex.book(booking(5L, 3L, DAY.minusDays(10), DAY.plusDays(10)));
+
+        ItemAvailabilityDto result = itemAvailabilityIndex.getAvailability(3L, DAY, DAY.plusHours(1));
+
+        Assertions.assertEquals(List.of(new PeriodDto(DAY, DAY.plusHours(1))), result.getBusy());
+        Assertions.assertTrue(result.getFree().isEmpty());
+    }
+
+    @Test
+    void availabilityReflectsBookAndRelease() {
+        itemAvailabilityIndex.book(booking(6L, 2L, DAY.plusHours(5), DAY.plusHours(6)));
+        itemAvailabilityIndex.release(2L, 4L);
+
+        ItemAvailabilityDto result = itemAvailabilityIndex.getAvailability(2L, DAY, DAY.plusHours(12));
+
+        Assertions.assertEquals(List.of(new PeriodDto(DAY.plusHours(5), DAY.plusHours(6))), result.getBusy());
+    }
+
+    @Test
+    void releasingOneLongBookingKeepsAnotherOfSameLength() {
+        itemAvailabilityIndex.book(booking(7L, 3L, DAY.minusDays(10), DAY.plusDays(10)));
+        itemAvailabilityIndex.book(booking(8L, 3L, DAY.plusDays(20), DAY.plusDays(40)));
+        itemAvailabilityIndex.release(3L, 7L);
+
+        ItemAvailabilityDto result = itemAvailabilityIndex.getAvailability(3L, DAY.plusDays(30), DAY.plusDays(31));
+
+        Assertions.assertEquals(List.of(new PeriodDto(DAY.plusDays(30), DAY.plusDays(31))), result.getBusy());
+    }
+
+    @Test
+    void evictEndedDropsPastPeriods() {
+        itemAvailabilityIndex.evictEnded(DAY.plusHours(5));
+
+        Assertions.assertEquals(List.of(new PeriodDto(DAY.plusHours(8), DAY.plusHours(10))),
+                itemAvailabilityIndex.getAvailability(1L, DAY, DAY.plusHours(12)).getBusy());
+        Assertions.assertTrue(itemAvailabilityIndex.getAvailability(2L, DAY, DAY.plusHours(12)).getBusy().isEmpty());
+    }
+
+    @Test
+    void unknownItemIsFree() {
+        ItemAvailabilityDto result = itemAvailabilityIndex.getAvailability(99L, DAY, DAY.plusHours(1));
+
+        Assertions.assertTrue(result.getBusy().isEmpty());
+        Assertions.assertEquals(List.of(new PeriodDto(DAY, DAY.plusHours(1))), result.getFree());
+    }
+
+    private static BookingDto booking(Long id, Long itemId, LocalDateTime start, LocalDateTime end) {
+        return new BookingDto(id, start, end, itemId, 1L, BookingStatus.WAITING);
+    }
+}
@@ -6,18 +6,31 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.export.ExportSink;
+import ru.practicum.shareit.export.ExportWriter;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
+import ru.practicum.shareit.item.importer.ItemImporter;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,13 +38,18 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
+@Import({ItemImporter.class, ExportWriter.class})
 public class ItemControllerITest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private UserRepository userRepository;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -49,6 +67,23 @@ public class ItemControllerITest {
         verify(itemService, times(1)).get(itemId, userId);
     }
 
+    @Test
+    void getItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+
+        when(itemService.getAvailability(any(), any(), any())).thenReturn(new ItemAvailabilityDto(1L, from, to,
+                Collections.emptyList(), List.of(new PeriodDto(from, to))));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"itemId\":1,\"busy\":[],\"free\":[{\"start\":\"2030-01-01T00:00:00\"}]}"));
+        verify(itemService, times(1)).getAvailability(1L, from, to);
+    }
+
     @Test
     void getAllItemsByUser() throws Exception {
         long userId = 1L;
@@ -67,14 +102,94 @@ public class ItemControllerITest {
         long userId = 1L;
         String text = "text";
 
-        when(itemService.search(any())).thenReturn(Collections.emptyList());
+        when(itemService.search(any(), any(), any())).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/items/search")
                         .param("text", text)
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
-        verify(itemService, times(1)).search(text);
+        verify(itemService, times(1)).search(text, 0, 10);
+    }
+
+    @Test
+    void searchItemsWithInvalidPagination() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("from", "-1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("size", "0")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).search(any(), any(), any());
+    }
+
+    @Test
+    void createItems() throws Exception {
+        long userId = 1L;
+        List<ItemDto> items = List.of(new ItemDto(null, "First", "Description", true, null),
+                new ItemDto(null, "Second", "Description", true, 3L));
+        when(itemService.createAll(items, userId)).thenReturn(List.of(
+                new ItemDto(1L, "First", "Description", true, null),
+                new ItemDto(2L, "Second", "Description", true, 3L)));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\": 1}, {\"id\": 2, \"requestId\": 3}]"));
+
+        verify(itemService, times(1)).createAll(items, userId);
+    }
+
+    @Test
+    void exportItems() throws Exception {
+        long userId = 1L;
+        doAnswer(invocation -> {
+            invocation.<ExportSink<ItemDto>>getArgument(1).write(Stream.of(
+                    new ItemDto(1L, "Item", "Description", true, null)));
+            return null;
+        }).when(itemService).exportByOwner(eq(userId), any());
+
+        mockMvc.perform(get("/items/export")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(content().string("{\"id\":1,\"name\":\"Item\",\"description\":\"Description\"," +
+                        "\"available\":true,\"requestId\":null}\n"));
+    }
+
+    @Test
+    void importItems() throws Exception {
+        long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType("application/x-ndjson")
+                        .content("{\"row\": 1, \"item\": {\"name\": \"Item\", \"description\": \"Description\", " +
+                                "\"available\": true}}\n{\"row\": 2, \"error\": \"name: не должно быть пустым\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("{\"processed\":2,\"created\":1,\"failed\":1,\"done\":false}\n" +
+                        "{\"row\":2,\"error\":\"name: не должно быть пустым\"}\n" +
+                        "{\"processed\":2,\"created\":1,\"failed\":1,\"done\":true}\n"));
+
+        verify(itemService, times(1)).createAll(List.of(new ItemDto(null, "Item", "Description", true, null)), userId);
+    }
+
+    @Test
+    void importItemsByUnknownUser() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType("application/x-ndjson")
+                        .content(""))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -0,0 +1,176 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemBookings;
+import ru.practicum.shareit.item.cache.ItemDetails;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(ItemDetailsCacheITest.CacheConfig.class)
+public class ItemDetailsCacheITest {
+    @MockBean
+    private ItemRepository itemRepository;
+
+    @MockBean
+    private BookingRepository bookingRepository;
+
+    @MockBean
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemDetailsCache itemDetailsCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Item item = new Item(1L, "Item", "Description", true, new User(1L, "User", "user@mail.ru"), null);
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getItemIsReadThrough() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        ItemDetails details = itemDetailsCache.getItem(item.getId());
+        Assertions.assertEquals(new ItemDetails(1L, "Item", "Description", true, 1L, null), details);
+        Assertions.assertSame(details, itemDetailsCache.getItem(item.getId()));
+        verify(itemRepository, times(1)).findById(item.getId());
+    }
+
+    @Test
+    void cachedItemIsDetachedFromEntity() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        itemDetailsCache.getItem(item.getId());
+        item.setName("Changed");
+        Assertions.assertEquals("Item", itemDetailsCache.getItem(item.getId()).name());
+    }
+
+    @Test
+    void bookingsAreCachedUntilNextBookingStarts() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto last = new BookingDto(1L, now.minusDays(2), now.minusDays(1), item.getId(), 2L,
+                BookingStatus.APPROVED);
+        BookingDto next = new BookingDto(2L, now.plusHours(1), now.plusDays(1), item.getId(), 2L,
+                BookingStatus.APPROVED);
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(eq(List.of(item.getId())), any()))
+                .thenReturn(List.of(next, last));
+
+        Assertions.assertEquals(new ItemBookings(last, next), itemDetailsCache.getLastAndNextBookings(item.getId(), now));
+        itemDetailsCache.getLastAndNextBookings(item.getId(), now.plusMinutes(30));
+        verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(any(), any());
+
+        itemDetailsCache.getLastAndNextBookings(item.getId(), now.plusHours(2));
+        verify(bookingRepository, times(2)).findLastAndNextBookingsByItemIdIn(any(), any());
+    }
+
+    @Test
+    void evictItemReloadsItem() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        itemDetailsCache.getItem(item.getId());
+        itemDetailsCache.evictItem(item.getId());
+        itemDetailsCache.getItem(item.getId());
+        verify(itemRepository, times(2)).findById(item.getId());
+    }
+
+    @Test
+    void missingItemIsNotCached() {
+        when(itemRepository.findById(2L)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> itemDetailsCache.getItem(2L));
+        Assertions.assertThrows(NotFoundException.class, () -> itemDetailsCache.getItem(2L));
+        verify(itemRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void evictionsAreScopedToCacheAndItem() {
+        BookingDto booking = new BookingDto(1L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), item.getId(),
+                2L, BookingStatus.APPROVED);
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(eq(List.of(item.getId())), any()))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(eq(List.of(3L)), any())).thenReturn(Collections.emptyList());
+        when(commentRepository.findAllByItemId(item.getId())).thenReturn(Collections.emptyList());
+
+        itemDetailsCache.getLastAndNextBookings(item.getId(), now);
+        itemDetailsCache.getLastAndNextBookings(3L, now);
+        itemDetailsCache.getComments(item.getId());
+
+        itemDetailsCache.evictBookings(item.getId());
+        itemDetailsCache.getLastAndNextBookings(item.getId(), now);
+        itemDetailsCache.getLastAndNextBookings(3L, now);
+        itemDetailsCache.getComments(item.getId());
+
+        verify(bookingRepository, times(2)).findLastAndNextBookingsByItemIdIn(eq(List.of(item.getId())), any());
+        verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(eq(List.of(3L)), any());
+        verify(commentRepository, times(1)).findAllByItemId(item.getId());
+    }
+
+    @Test
+    void evictAllDropsUserDependentEntries() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemId(item.getId())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(any(), any())).thenReturn(Collections.emptyList());
+        LocalDateTime now = LocalDateTime.now();
+
+        itemDetailsCache.getItem(item.getId());
+        itemDetailsCache.getComments(item.getId());
+        itemDetailsCache.getLastAndNextBookings(item.getId(), now);
+        itemDetailsCache.evictAll();
+        itemDetailsCache.getItem(item.getId());
+        itemDetailsCache.getComments(item.getId());
+        itemDetailsCache.getLastAndNextBookings(item.getId(), now);
+
+        verify(itemRepository, times(2)).findById(item.getId());
+        verify(commentRepository, times(2)).findAllByItemId(item.getId());
+        verify(bookingRepository, times(2)).findLastAndNextBookingsByItemIdIn(any(), any());
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({ItemDetailsCache.class, ItemMapper.class, CommentMapper.class})
+    static class CacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                    ItemDetailsCache.ITEMS, ItemDetailsCache.ITEM_COMMENTS, ItemDetailsCache.ITEM_BOOKINGS);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+    }
+}
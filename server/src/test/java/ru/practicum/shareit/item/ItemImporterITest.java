@@ -0,0 +1,165 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportProgressDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
+import ru.practicum.shareit.item.importer.ItemImporter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ItemImporterITest {
+    private static final long USER_ID = 1L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ItemService itemService;
+    private UserRepository userRepository;
+    private ItemImporter itemImporter;
+
+    @BeforeEach
+    void setUp() {
+        itemService = mock(ItemService.class);
+        userRepository = mock(UserRepository.class);
+        itemImporter = new ItemImporter(itemService, userRepository, objectMapper);
+    }
+
+    @Test
+    void importWritesItemsInChunks() throws IOException {
+        List<ItemImportRowDto> rows = new ArrayList<>();
+        for (long i = 1; i <= 1200; i++) {
+            rows.add(new ItemImportRowDto(i, new ItemDto(null, "Item " + i, "Description", true, null), null));
+        }
+
+        List<String> lines = importRows(rows);
+
+        verify(itemService, times(3)).createAll(anyList(), eq(USER_ID));
+        Assertions.assertEquals(4, lines.size());
+        Assertions.assertEquals(new ItemImportProgressDto(500, 500, 0, false), progress(lines.get(0)));
+        Assertions.assertEquals(new ItemImportProgressDto(1200, 1200, 0, true), progress(lines.get(3)));
+    }
+
+    @Test
+    void importReportsRowErrors() throws IOException {
+        ItemDto valid = new ItemDto(null, "Item", "Description", true, null);
+        ItemDto missingRequest = new ItemDto(null, "Item", "Description", true, 7L);
+        when(itemService.createAll(anyList(), eq(USER_ID)))
+                .thenThrow(new NotFoundException("Не найдено запроса предмета с id: 7"));
+        when(itemService.create(missingRequest, USER_ID))
+                .thenThrow(new NotFoundException("Не найдено запроса предмета с id: 7"));
+
+        List<String> lines = importRows(List.of(
+                new ItemImportRowDto(1L, valid, null),
+                new ItemImportRowDto(2L, null, "name: не должно быть пустым"),
+                new ItemImportRowDto(3L, missingRequest, null)));
+
+        verify(itemService, times(1)).create(valid, USER_ID);
+        Assertions.assertEquals(List.of(
+                new ItemImportErrorDto(2L, "name: не должно быть пустым"),
+                new ItemImportErrorDto(3L, "Не найдено запроса предмета с id: 7")),
+                List.of(objectMapper.readValue(lines.get(1), ItemImportErrorDto.class),
+                        objectMapper.readValue(lines.get(2), ItemImportErrorDto.class)));
+        Assertions.assertEquals(new ItemImportProgressDto(3, 1, 2, true), progress(lines.get(lines.size() - 1)));
+    }
+
+    @Test
+    void importReportsErrorsAfterInputIsRead() throws IOException {
+        List<ItemImportRowDto> rows = new ArrayList<>();
+        for (long i = 1; i <= 1700; i++) {
+            rows.add(i > 1200
+                    ? new ItemImportRowDto(i, new ItemDto(null, "Item " + i, "Description", true, null), null)
+                    : new ItemImportRowDto(i, null, "name: не должно быть пустым"));
+        }
+
+        List<String> lines = importRows(rows);
+
+        Assertions.assertEquals(new ItemImportProgressDto(1700, 500, 1200, false), progress(lines.get(0)));
+        Assertions.assertEquals(new ItemImportErrorDto(1L, "name: не должно быть пустым"),
+                objectMapper.readValue(lines.get(1), ItemImportErrorDto.class));
+        Assertions.assertEquals(1002, lines.size());
+        Assertions.assertEquals(new ItemImportProgressDto(1700, 500, 1200, true), progress(lines.get(lines.size() - 1)));
+    }
+
+    @Test
+    void checkUnknownUser() {
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        Assertions.assertThrows(NotFoundException.class, () -> itemImporter.checkUser(USER_ID));
+    }
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.datasource.url=jdbc:h2:mem:item-import;DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.jpa.show-sql=false"
+    })
+    class WithDatabase {
+        @Autowired
+        private ItemImporter itemImporter;
+
+        @Autowired
+        private ItemRepository itemRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ItemSearchIndex itemSearchIndex;
+
+        @Test
+        void failedChunkLeavesNoPhantomsInSearch() throws IOException {
+            User owner = userRepository.save(new User(null, "Owner", "importer@mail.ru"));
+            String body = objectMapper.writeValueAsString(new ItemImportRowDto(1L,
+                    new ItemDto(null, "Перфоратор", "Мощный перфоратор", true, null), null)) + '\n'
+                    + objectMapper.writeValueAsString(new ItemImportRowDto(2L,
+                    new ItemDto(null, "Перфоратор без описания", null, true, null), null)) + '\n';
+
+            itemImporter.importItems(owner.getId(), new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                    new ByteArrayOutputStream());
+
+            List<Long> saved = itemRepository.findAllByOwnerId(owner.getId()).stream().map(Item::getId).toList();
+            Assertions.assertEquals(1, saved.size());
+            Assertions.assertEquals(saved, itemSearchIndex.search("перфоратор", 0, 10));
+        }
+    }
+
+    private List<String> importRows(List<ItemImportRowDto> rows) throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (ItemImportRowDto row : rows) {
+            body.append(objectMapper.writeValueAsString(row)).append('\n');
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        itemImporter.importItems(USER_ID, new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)),
+                output);
+        return output.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private ItemImportProgressDto progress(String line) throws IOException {
+        return objectMapper.readValue(line, ItemImportProgressDto.class);
+    }
+}
@@ -6,8 +6,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.IndexedItem;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -15,6 +17,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @DataJpaTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -46,60 +49,58 @@ public class ItemRepositoryITest {
     }
 
     @Test
-    void searchItemByTextInDescription() {
-        String text = "Text";
-        Item item = createItem("Name", "DescriptionText", true, user, itemRequest);
+    void findAllByOwnerId() {
+        Item item = createItem("Name", "Description", true, user, itemRequest);
 
-        List<Item> result = itemRepository.searchAllByTextInNameOrDescription(text);
+        List<Item> result = itemRepository.findAllByOwnerId(user.getId());
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(item.getId(), result.getFirst().getId());
-        Assertions.assertTrue(result.getFirst().getDescription().toLowerCase().contains(text.toLowerCase()));
+        Assertions.assertEquals(item.getOwner(), result.getFirst().getOwner());
     }
 
     @Test
-    void searchItemByTextInName() {
-        String text = "Text";
-        Item item = createItem("NameText", "Description", true, user, itemRequest);
+    void findAllByRequestId() {
+        Item item = createItem("Name", "Description", true, user, itemRequest);
 
-        List<Item> result = itemRepository.searchAllByTextInNameOrDescription(text);
+        List<Item> result = itemRepository.findAllByOwnerId(user.getId());
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
         Assertions.assertEquals(item.getId(), result.getFirst().getId());
-        Assertions.assertTrue(result.getFirst().getName().toLowerCase().contains(text.toLowerCase()));
+        Assertions.assertEquals(item.getRequest(), result.getFirst().getRequest());
     }
 
     @Test
-    void searchItemByTextInDescriptionUpperCase() {
-        String text = "Text";
-        Item item = createItem("Name", "DescrTEXTiption", true, user, itemRequest);
-
-        List<Item> result = itemRepository.searchAllByTextInNameOrDescription(text);
-        Assertions.assertNotNull(result);
-        Assertions.assertEquals(1, result.size());
-        Assertions.assertEquals(item.getId(), result.getFirst().getId());
-        Assertions.assertTrue(result.getFirst().getDescription().toLowerCase().contains(text.toLowerCase()));
+    void findIdsByOwnerIdOrRequesterId() {
+        Item owned = createItem("Name", "Description", true, user, null);
+        Item requested = createItem("Other", "Description", true, user, itemRequest);
+        User other = userRepository.save(new User(null, "Other", "other@mail.ru"));
+        createItem("Foreign", "Description", true, other, null);
+
+        Assertions.assertEquals(List.of(owned.getId(), requested.getId()),
+                itemRepository.findIdsByOwnerIdOrRequesterId(user.getId()).stream().sorted().toList());
+        Assertions.assertEquals(List.of(requested.getId()), itemRepository.findIdsByOwnerIdOrRequesterId(requester.getId()));
     }
 
     @Test
-    void findAllByOwnerId() {
-        Item item = createItem("Name", "Description", true, user, itemRequest);
+    void findAllForSearchIndex() {
+        Item item = createItem("Name", "Description", false, user, itemRequest);
 
-        List<Item> result = itemRepository.findAllByOwnerId(user.getId());
-        Assertions.assertNotNull(result);
+        List<IndexedItem> result = itemRepository.findAllForSearchIndex();
         Assertions.assertEquals(1, result.size());
-        Assertions.assertEquals(item.getId(), result.getFirst().getId());
-        Assertions.assertEquals(item.getOwner(), result.getFirst().getOwner());
+        Assertions.assertEquals(new IndexedItem(item.getId(), "Name", "Description", false), result.getFirst());
     }
 
     @Test
-    void findAllByRequestId() {
-        Item item = createItem("Name", "Description", true, user, itemRequest);
-
-        List<Item> result = itemRepository.findAllByOwnerId(user.getId());
-        Assertions.assertNotNull(result);
-        Assertions.assertEquals(1, result.size());
-        Assertions.assertEquals(item.getId(), result.getFirst().getId());
-        Assertions.assertEquals(item.getRequest(), result.getFirst().getRequest());
+    void streamExportByOwnerId() {
+        Item requested = createItem("Name", "Description", true, user, itemRequest);
+        Item item = createItem("Other", "Other description", false, user, null);
+        createItem("Foreign", "Description", true, requester, null);
+
+        try (Stream<ItemDto> items = itemRepository.streamExportByOwnerId(user.getId())) {
+            Assertions.assertEquals(List.of(
+                    new ItemDto(requested.getId(), "Name", "Description", true, itemRequest.getId()),
+                    new ItemDto(item.getId(), "Other", "Other description", false, null)), items.toList());
+        }
     }
 }
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.IndexedItem;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexITest {
+    private ItemRepository itemRepository;
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        itemSearchIndex = new ItemSearchIndex(itemRepository);
+        when(itemRepository.findAllForSearchIndex()).thenReturn(List.of(
+                new IndexedItem(1L, "Дрель", "Простая дрель", true),
+                new IndexedItem(2L, "Отвертка", "Аккумуляторная отвертка, как дрель", true),
+                new IndexedItem(3L, "Дрель ударная", "Мощная", true),
+                new IndexedItem(4L, "Дрель+", "Сломана", false)));
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void searchIsCaseInsensitiveAndRanksNameMatchesFirst() {
+        List<Long> result = itemSearchIndex.search("ДРЕЛЬ", 0, 10);
+
+        Assertions.assertEquals(List.of(1L, 3L, 2L), result);
+    }
+
+    @Test
+    void searchMatchesSubstring() {
+        Assertions.assertEquals(List.of(2L), itemSearchIndex.search("кумуля", 0, 10));
+        Assertions.assertEquals(List.of(3L), itemSearchIndex.search("ар", 0, 10));
+    }
+
+    @Test
+    void searchSkipsUnavailableItems() {
+        Assertions.assertTrue(itemSearchIndex.search("Сломана", 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchPaginates() {
+        Assertions.assertEquals(List.of(3L), itemSearchIndex.search("дрель", 1, 1));
+    }
+
+    @Test
+    void searchReflectsReindexAndRemove() {
+        itemSearchIndex.index(new IndexedItem(1L, "Пила", "Ручная", true));
+        Assertions.assertEquals(List.of(3L, 2L), itemSearchIndex.search("дрель", 0, 10));
+        Assertions.assertEquals(List.of(1L), itemSearchIndex.search("пила", 0, 10));
+
+        itemSearchIndex.remove(1L);
+        Assertions.assertTrue(itemSearchIndex.search("пила", 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchKeepsOnlyRequestedPage() {
+        for (long id = 10; id < 40; id++) {
+            itemSearchIndex.index(new IndexedItem(id, "Дрель " + id, "Запасная", true));
+        }
+
+        Assertions.assertEquals(List.of(1L, 3L, 10L), itemSearchIndex.search("дрель", 0, 3));
+        Assertions.assertEquals(List.of(38L, 39L, 2L), itemSearchIndex.search("дрель", 30, 5));
+    }
+
+    @Test
+    void removedItemsLeaveIndexAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.removeAll(List.of(1L, 3L));
+            Assertions.assertEquals(List.of(1L, 3L, 2L), itemSearchIndex.search("дрель", 0, 10));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assertions.assertEquals(List.of(2L), itemSearchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    void searchBlankTextReturnsNothing() {
+        Assertions.assertTrue(itemSearchIndex.search(" ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void indexingItemWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(new Item(5L, "Пила", "Ручная", true, null, null));
+            Assertions.assertTrue(itemSearchIndex.search("пила", 0, 10).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assertions.assertEquals(List.of(5L), itemSearchIndex.search("пила", 0, 10));
+    }
+
+    @Test
+    void rolledBackItemIsNotIndexed() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(new Item(1L, "Пила", "Ручная", true, null, null));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assertions.assertTrue(itemSearchIndex.search("пила", 0, 10).isEmpty());
+        Assertions.assertEquals(List.of(1L, 3L, 2L), itemSearchIndex.search("дрель", 0, 10));
+    }
+}
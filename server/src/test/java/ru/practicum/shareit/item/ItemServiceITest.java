@@ -3,7 +3,8 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import ru.practicum.shareit.booking.BookingMapper;
+import org.springframework.cache.support.NoOpCacheManager;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -14,10 +15,15 @@ import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exception.CommentException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.NotOwnerException;
+import ru.practicum.shareit.exception.PeriodException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -37,7 +43,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,6 +58,7 @@ public class ItemServiceITest {
     private BookingRepository bookingRepository;
     private CommentRepository commentRepository;
     private ItemRequestRepository itemRequestRepository;
+    private ItemSearchIndex itemSearchIndex;
 
     private User user;
     private Booking booking;
@@ -63,10 +72,13 @@ public class ItemServiceITest {
         commentRepository = mock(CommentRepository.class);
         itemRequestRepository = mock(ItemRequestRepository.class);
         ItemMapper itemMapper = new ItemMapper();
-        BookingMapper bookingMapper = new BookingMapper(itemRepository, userRepository);
         CommentMapper commentMapper = new CommentMapper();
+        itemSearchIndex = new ItemSearchIndex(itemRepository);
+        ItemDetailsCache itemDetailsCache = new ItemDetailsCache(itemRepository, bookingRepository, commentRepository,
+                itemMapper, commentMapper, new NoOpCacheManager());
         itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository,
-                commentRepository, itemRequestRepository, itemMapper, bookingMapper, commentMapper);
+                commentRepository, itemRequestRepository, itemMapper, commentMapper, itemSearchIndex, itemDetailsCache,
+                new ItemAvailabilityIndex(bookingRepository));
 
         user = new User(1L, "User", "user@mail.ru");
 
@@ -91,13 +103,19 @@ public class ItemServiceITest {
         booking.setItem(item);
         comment.setItem(item);
 
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto current = new BookingDto(2L, now.minusHours(1), now.plusHours(1), itemId, 2L, BookingStatus.APPROVED);
+        BookingDto next = new BookingDto(3L, now.plusDays(1), now.plusDays(2), itemId, 2L, BookingStatus.APPROVED);
+
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(bookingRepository.findLastBookingsByItemId(anyLong())).thenReturn(List.of(booking));
-        when(bookingRepository.findUpcomingBookingsByItemId(anyLong())).thenReturn(List.of(booking));
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(eq(List.of(itemId)), any())).thenReturn(List.of(next, current));
         when(commentRepository.findAllByItemId(anyLong())).thenReturn(List.of(comment));
 
         ItemBookingDto result = itemService.get(itemId, user.getId());
         Assertions.assertNotNull(result);
+        Assertions.assertEquals(current, result.getLastBooking());
+        Assertions.assertEquals(next, result.getNextBooking());
+        Assertions.assertEquals(1, result.getComments().size());
         verify(itemRepository, times(1)).findById(itemId);
     }
 
@@ -109,8 +127,7 @@ public class ItemServiceITest {
         comment.setItem(item);
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(bookingRepository.findLastBookingsByItemId(anyLong())).thenReturn(Collections.emptyList());
-        when(bookingRepository.findUpcomingBookingsByItemId(anyLong())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(any(), any())).thenReturn(Collections.emptyList());
         when(commentRepository.findAllByItemId(anyLong())).thenReturn(List.of(comment));
 
         ItemBookingDto result = itemService.get(itemId, user.getId());
@@ -118,6 +135,21 @@ public class ItemServiceITest {
         verify(itemRepository, times(1)).findById(itemId);
     }
 
+    @Test
+    void getItemByIdForNotOwnerSkipsBookings() {
+        ItemRequest itemRequest = new ItemRequest(1L, "Request", new User(2L, "Other", "other@mail.ru"), Instant.now());
+        Item item = new Item(1L, "Item", "Description", true, user, itemRequest);
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemId(anyLong())).thenReturn(Collections.emptyList());
+
+        ItemBookingDto result = itemService.get(item.getId(), 2L);
+        Assertions.assertNull(result.getLastBooking());
+        Assertions.assertNull(result.getNextBooking());
+        Assertions.assertEquals(itemRequest, result.getItemRequest());
+        Assertions.assertNotSame(itemRequest, result.getItemRequest());
+        verify(bookingRepository, never()).findLastAndNextBookingsByItemIdIn(any(), any());
+    }
+
     @Test
     void getAllItemsByUser() {
         Item item = new Item(1L, "Item", "Description", true, user, null);
@@ -131,27 +163,47 @@ public class ItemServiceITest {
         verify(itemRepository, times(1)).findAllByOwnerId(user.getId());
     }
 
+    @Test
+    void getAllItemsByUserWithLastAndNextBookings() {
+        Item item = new Item(1L, "Item", "Description", true, user, null);
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto last = new BookingDto(1L, now.minusDays(2), now.minusDays(1), item.getId(), 2L,
+                BookingStatus.APPROVED);
+        BookingDto next = new BookingDto(2L, now.plusDays(1), now.plusDays(2), item.getId(), 2L,
+                BookingStatus.APPROVED);
+        when(itemRepository.findAllByOwnerId(anyLong())).thenReturn(List.of(item));
+        when(bookingRepository.findLastAndNextBookingsByItemIdIn(any(), any())).thenReturn(List.of(next, last));
+
+        List<ItemBookingDto> result = List.copyOf(itemService.getAllByUser(user.getId()));
+        assertEquals(1, result.size());
+        assertEquals(last, result.getFirst().getLastBooking());
+        assertEquals(next, result.getFirst().getNextBooking());
+        verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(eq(List.of(item.getId())), any());
+    }
+
     @Test
     void searchItems() {
         String text = "Text";
-        Item item = new Item(1L, "Item", "Description", true, user, null);
-        when(itemRepository.searchAllByTextInNameOrDescription(any())).thenReturn(List.of(item));
+        Item item = new Item(1L, "Item", "DescriptionText", true, user, null);
+        itemSearchIndex.index(item);
+        when(itemRepository.findAllWithDetailsByIdIn(any())).thenReturn(List.of(item));
 
-        Collection<ItemDto> result = itemService.search(text);
+        Collection<ItemDto> result = itemService.search(text, 0, 10);
         Assertions.assertNotNull(result);
-        verify(itemRepository, times(1)).searchAllByTextInNameOrDescription(text);
+        assertEquals(1, result.size());
+        verify(itemRepository, times(1)).findAllWithDetailsByIdIn(List.of(item.getId()));
     }
 
     @Test
     void searchEmptyItem() {
         String text = "";
         Item item = new Item(1L, "Item", "Description", true, user, null);
-        when(itemRepository.searchAllByTextInNameOrDescription(any())).thenReturn(List.of(item));
+        itemSearchIndex.index(item);
 
-        Collection<ItemDto> result = itemService.search(text);
+        Collection<ItemDto> result = itemService.search(text, 0, 10);
         Assertions.assertNotNull(result);
         Assertions.assertTrue(result.isEmpty());
-        verify(itemRepository, times(0)).searchAllByTextInNameOrDescription(text);
+        verify(itemRepository, times(0)).findAllWithDetailsByIdIn(any());
 
     }
 
@@ -173,6 +225,38 @@ public class ItemServiceITest {
 
     }
 
+    @Test
+    void createItems() {
+        ItemRequest itemRequest = new ItemRequest(1L, "123", user, Instant.now());
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findAllById(List.of(itemRequest.getId()))).thenReturn(List.of(itemRequest));
+        when(itemRepository.saveAll(any())).thenReturn(List.of(
+                new Item(1L, "First", "Description", true, user, null),
+                new Item(2L, "Second", "Description", true, user, itemRequest)));
+
+        List<ItemDto> result = itemService.createAll(List.of(
+                new ItemDto(null, "First", "Description", true, null),
+                new ItemDto(null, "Second", "Description", true, itemRequest.getId())), user.getId());
+
+        assertEquals(List.of(1L, 2L), result.stream().map(ItemDto::getId).toList());
+        assertEquals(itemRequest.getId(), result.get(1).getRequestId());
+        verify(itemRepository, times(1)).saveAll(List.of(
+                new Item(null, "First", "Description", true, user, null),
+                new Item(null, "Second", "Description", true, user, itemRequest)));
+    }
+
+    @Test
+    void createItemsWithMissingRequest() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findAllById(any())).thenReturn(Collections.emptyList());
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> itemService.createAll(
+                List.of(new ItemDto(null, "Item", "Description", true, 7L)), user.getId()));
+
+        assertEquals("Не найдено запроса предмета с id: 7", exception.getMessage());
+        verify(itemRepository, times(0)).saveAll(any());
+    }
+
     @Test
     void createItemWithRequest() {
         ItemRequest itemRequest = new ItemRequest(1L, "123", user, Instant.now());
@@ -351,4 +435,34 @@ public class ItemServiceITest {
         assertEquals("Вы не можете оставить отзыв на данный предмет.", exception.getMessage());
 
     }
+
+    @Test
+    void getAvailabilityOfItemWithoutBookings() {
+        LocalDateTime from = LocalDateTime.of(2024, 8, 9, 12, 0);
+
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        ItemAvailabilityDto result = itemService.getAvailability(1L, from, from.plusDays(1));
+
+        assertEquals(Collections.emptyList(), result.getBusy());
+        assertEquals(1, result.getFree().size());
+    }
+
+    @Test
+    void getAvailabilityWithInvalidPeriod() {
+        LocalDateTime from = LocalDateTime.of(2024, 8, 9, 12, 0);
+
+        assertThrows(PeriodException.class, () -> itemService.getAvailability(1L, from, from));
+        verify(itemRepository, times(0)).existsById(anyLong());
+    }
+
+    @Test
+    void getAvailabilityOfUnknownItem() {
+        LocalDateTime from = LocalDateTime.of(2024, 8, 9, 12, 0);
+
+        when(itemRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(1L, from, from.plusDays(1)));
+        verify(itemRepository, times(0)).findById(anyLong());
+    }
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+@DataJpaTest
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({UserServiceImpl.class, UserMapper.class, MetricsConfig.class, ServiceMetricsAspect.class,
+        SimpleMeterRegistry.class})
+@MockBean({ItemDetailsCache.class, ItemSearchIndex.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ServiceMetricsITest {
+    private final UserService userService;
+    private final MeterRegistry registry;
+    private final EntityManager entityManager;
+
+    @Test
+    void serviceCallsAreTimedWithTheirStatements() {
+        UserDto user = userService.create(new UserDto(null, "User", "user@mail.ru"));
+        entityManager.flush();
+        userService.getAll();
+        userService.getAll();
+
+        Assertions.assertEquals(1, registry.get("shareit.service")
+                .tags("class", "UserServiceImpl", "method", "create", "exception", "none").timer().count());
+        Assertions.assertEquals(2, registry.get("shareit.service")
+                .tags("class", "UserServiceImpl", "method", "getAll").timer().count());
+        Assertions.assertEquals(2.0, registry.get("shareit.service.sql.statements")
+                .tags("class", "UserServiceImpl", "method", "getAll").summary().totalAmount());
+        Assertions.assertTrue(user.getId() > 0);
+    }
+
+    @Test
+    void failedCallsAreTaggedWithTheException() {
+        Assertions.assertThrows(NotFoundException.class, () -> userService.getById(-1L));
+
+        Assertions.assertEquals(1, registry.get("shareit.service")
+                .tags("method", "getById", "exception", "NotFoundException").timer().count());
+    }
+}
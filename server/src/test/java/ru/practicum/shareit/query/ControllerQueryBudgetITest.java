@@ -0,0 +1,158 @@
+package ru.practicum.shareit.query;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@QueryBudget(3)
+public class ControllerQueryBudgetITest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int ITEMS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest itemRequest;
+    private Booking booking;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "Booker", "booker@mail.ru"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            itemRequest = itemRequestRepository.save(new ItemRequest(null, "Request " + i, booker, Instant.now()));
+            ItemDto created = itemService.create(new ItemDto(null, "Drill " + i, "Description", true, itemRequest.getId()),
+                    owner.getId());
+            item = itemRepository.findById(created.getId()).orElseThrow();
+            booking = bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker,
+                    BookingStatus.APPROVED, null));
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                    BookingStatus.WAITING, null));
+            commentRepository.save(new Comment(null, "Comment " + i, item, booker, now));
+        }
+    }
+
+    @Test
+    void getUsers() throws Exception {
+        perform(get("/users"));
+    }
+
+    @Test
+    void getUser() throws Exception {
+        perform(get("/users/{id}", owner.getId()));
+    }
+
+    @Test
+    void getItemsByOwner() throws Exception {
+        perform(get("/items").header(USER_ID_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getItem() throws Exception {
+        perform(get("/items/{id}", item.getId()).header(USER_ID_HEADER, owner.getId()));
+    }
+
+    @Test
+    void searchItems() throws Exception {
+        perform(get("/items/search").param("text", "drill").param("size", "20").header(USER_ID_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getBookingsByBooker() throws Exception {
+        perform(get("/bookings").param("state", "ALL").header(USER_ID_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getBookingsByOwner() throws Exception {
+        perform(get("/bookings/owner").param("state", "ALL").header(USER_ID_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getBooking() throws Exception {
+        perform(get("/bookings/{id}", booking.getId()).header(USER_ID_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getOwnRequests() throws Exception {
+        perform(get("/requests").header(USER_ID_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getOtherRequests() throws Exception {
+        perform(get("/requests/all").param("from", "0").param("size", "20").header(USER_ID_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getRequest() throws Exception {
+        perform(get("/requests/{id}", itemRequest.getId()).header(USER_ID_HEADER, owner.getId()));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void exceededBudgetListsStatements() {
+        AssertionError error = Assertions.assertThrows(AssertionError.class,
+                () -> perform(get("/items").header(USER_ID_HEADER, owner.getId())));
+
+        Assertions.assertTrue(error.getMessage().startsWith("GET /items выполнил SQL-запросов: "), error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("1. select"), error.getMessage());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk());
+    }
+}
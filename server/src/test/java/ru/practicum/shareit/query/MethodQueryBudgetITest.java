@@ -0,0 +1,37 @@
+package ru.practicum.shareit.query;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+public class MethodQueryBudgetITest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @QueryBudget(0)
+    void exceededMethodBudgetFails() {
+        AssertionError error = Assertions.assertThrows(AssertionError.class,
+                () -> mockMvc.perform(get("/users")).andExpect(status().isOk()));
+
+        Assertions.assertTrue(error.getMessage().startsWith("GET /users выполнил SQL-запросов: 1, бюджет: 0"),
+                error.getMessage());
+    }
+
+    @Test
+    void unannotatedMethodHasNoBudget() throws Exception {
+        mockMvc.perform(get("/users")).andExpect(status().isOk());
+    }
+}
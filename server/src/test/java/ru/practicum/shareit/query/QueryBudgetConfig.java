@@ -0,0 +1,42 @@
+package ru.practicum.shareit.query;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+@TestConfiguration(proxyBeanMethods = false)
+class QueryBudgetConfig {
+
+    @Bean
+    static BeanPostProcessor queryRecordingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .afterQuery((execution, queries) -> queries.forEach(query -> QueryRecorder.record(query.getQuery())))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MockMvcBuilderCustomizer queryBudgetFilter() {
+        Filter filter = (request, response, chain) -> {
+            QueryRecorder.start();
+            chain.doFilter(request, response);
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            String query = httpRequest.getQueryString();
+            QueryRecorder.check(httpRequest.getMethod() + " " + httpRequest.getRequestURI() + (query != null ? "?" + query : ""));
+        };
+        return builder -> builder.addFilters(filter);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.query;
+
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.test.context.ContextConfigurationAttributes;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.ContextCustomizerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class QueryBudgetContextCustomizerFactory implements ContextCustomizerFactory {
+
+    @Override
+    public ContextCustomizer createContextCustomizer(Class<?> testClass,
+                                                     List<ContextConfigurationAttributes> configAttributes) {
+        return hasBudget(testClass) ? new QueryBudgetContextCustomizer() : null;
+    }
+
+    private static boolean hasBudget(Class<?> testClass) {
+        if (annotated(MergedAnnotations.from(testClass, MergedAnnotations.SearchStrategy.TYPE_HIERARCHY))) {
+            return true;
+        }
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(testClass, method -> found.set(true),
+                method -> annotated(MergedAnnotations.from(method)));
+        return found.get();
+    }
+
+    private static boolean annotated(MergedAnnotations annotations) {
+        return annotations.isPresent(QueryBudget.class);
+    }
+
+    private static final class QueryBudgetContextCustomizer implements ContextCustomizer {
+
+        @Override
+        public void customizeContext(ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {
+            if (context instanceof BeanDefinitionRegistry registry) {
+                registry.registerBeanDefinition(QueryBudgetConfig.class.getName(),
+                        new RootBeanDefinition(QueryBudgetConfig.class));
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other != null && other.getClass() == getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class QueryRecorder {
+    private static final ThreadLocal<Integer> BUDGET = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    private QueryRecorder() {
+    }
+
+    static void budget(Integer budget) {
+        BUDGET.set(budget);
+    }
+
+    static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    static void record(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    static void check(String call) {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        Integer budget = BUDGET.get();
+        if (budget == null || statements == null || statements.size() <= budget) {
+            return;
+        }
+        StringBuilder message = new StringBuilder(call)
+                .append(" выполнил SQL-запросов: ").append(statements.size())
+                .append(", бюджет: ").append(budget);
+        for (int i = 0; i < statements.size(); i++) {
+            message.append(System.lineSeparator()).append(i + 1).append(". ").append(statements.get(i));
+        }
+        throw new AssertionError(message.toString());
+    }
+
+    static void clear() {
+        BUDGET.remove();
+        STATEMENTS.remove();
+    }
+}
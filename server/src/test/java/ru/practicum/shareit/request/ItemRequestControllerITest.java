@@ -6,13 +6,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.PaginationException;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -24,6 +31,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemRequestController.class)
@@ -62,18 +71,61 @@ public class ItemRequestControllerITest {
     @Test
     void getAllOthersItemRequests() throws Exception {
         long userId = 1L;
-        int from = 0;
+        int from = 5;
         int size = 10;
-        when(itemRequestService.getAllOthers(anyLong(), anyInt(), anyInt())).thenReturn(Page.empty());
+        when(itemRequestService.getAllOthers(anyLong(), anyInt(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(), OffsetPageRequest.of(from, size), true));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", userId)
                         .param("from", String.valueOf(from))
                         .param("size", String.valueOf(size)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pageable.offset").value(from))
+                .andExpect(jsonPath("$.pageable.pageSize").value(size))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
         verify(itemRequestService, times(1)).getAllOthers(userId, from, size);
     }
 
+    @Test
+    void getAllOthersItemRequestsWithZeroSize() throws Exception {
+        when(itemRequestService.getAllOthers(anyLong(), anyInt(), anyInt()))
+                .thenThrow(new PaginationException("Параметр size должен быть положительным: 0"));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "0")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllOthersItemRequestsAfterCursor() throws Exception {
+        long userId = 1L;
+        ItemRequestDto itemRequest = new ItemRequestDto();
+        itemRequest.setId(5L);
+        ScrollPosition position = ScrollPosition.forward(Map.of("created", Instant.parse("2024-08-09T12:00:00Z"), "id", 5L));
+        when(itemRequestService.getAllOthersAfter(eq(userId), any(), eq(1)))
+                .thenReturn(Window.from(List.of(itemRequest), index -> position, true));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", ItemRequestCursor.encode(position)))
+                .andExpect(content().json("[{\"id\": 5}]"));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", ItemRequestCursor.encode(position))
+                        .param("size", "1"))
+                .andExpect(status().isOk());
+        verify(itemRequestService, times(1)).getAllOthersAfter(userId, ScrollPosition.keyset(), 1);
+        verify(itemRequestService, times(1)).getAllOthersAfter(userId, position, 1);
+    }
+
     @Test
     void createItemRequest() throws Exception {
         long userId = 1L;
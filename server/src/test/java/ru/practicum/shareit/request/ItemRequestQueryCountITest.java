@@ -0,0 +1,82 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemRequestServiceImpl.class, ItemRequestMapper.class, ItemMapper.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemRequestQueryCountITest {
+    private static final int REQUESTS = 20;
+
+    private final ItemRequestService itemRequestService;
+    private final EntityManager entityManager;
+
+    private User requester;
+    private User viewer;
+
+    @BeforeEach
+    void setUp() {
+        requester = persist(new User(null, "Requester", "requester@mail.ru"));
+        viewer = persist(new User(null, "Viewer", "viewer@mail.ru"));
+        Instant created = Instant.now();
+        for (int i = 0; i < REQUESTS; i++) {
+            User owner = persist(new User(null, "Owner" + i, "owner" + i + "@mail.ru"));
+            ItemRequest itemRequest = persist(new ItemRequest(null, "Request " + i, requester, created.minusSeconds(i)));
+            persist(new Item(null, "Item " + i, "Description", true, owner, itemRequest));
+            persist(new Item(null, "Other item " + i, "Description", true, owner, itemRequest));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void getAllOthersQueryCountDoesNotDependOnPageSize() {
+        long smallPage = countStatements(() -> itemRequestService.getAllOthers(viewer.getId(), 0, 2));
+        long largePage = countStatements(() -> itemRequestService.getAllOthers(viewer.getId(), 0, REQUESTS));
+
+        Assertions.assertEquals(smallPage, largePage);
+        Assertions.assertEquals(2, largePage);
+        Assertions.assertEquals(REQUESTS, itemRequestService.getAllOthers(viewer.getId(), 0, REQUESTS)
+                .getContent().stream().filter(request -> request.getItems().size() == 2).count());
+    }
+
+    @Test
+    void getAllSelfLoadsItemsInOneQuery() {
+        Collection<ItemRequestDto> requests = itemRequestService.getAllSelf(requester.getId());
+        Assertions.assertEquals(REQUESTS, requests.size());
+
+        long statements = countStatements(() -> itemRequestService.getAllSelf(requester.getId()));
+        Assertions.assertEquals(3, statements);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
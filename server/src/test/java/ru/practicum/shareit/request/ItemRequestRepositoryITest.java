@@ -6,16 +6,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 @DataJpaTest
@@ -44,14 +49,54 @@ public class ItemRequestRepositoryITest {
     }
 
     @Test
-    void findAllByOrderByCreatedDesc() {
+    void findAllByRequesterIdNotOrderByCreatedDescIdDesc() {
+        User other = userRepository.save(new User(null, "Other", "other@mail.ru"));
         ItemRequest itemRequest = itemRequestRepository.save(
-                new ItemRequest(1L, "Description", user, Instant.now()));
-        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"));
+                new ItemRequest(null, "Description", other, Instant.now()));
+        itemRequestRepository.save(new ItemRequest(null, "Own", user, Instant.now()));
+        Pageable pageable = PageRequest.of(0, 10);
 
-        Page<ItemRequest> result = itemRequestRepository.findAllByOrderByCreatedDesc(pageable);
+        Slice<ItemRequest> result = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(user.getId(), pageable);
         Assertions.assertNotNull(result);
-        Assertions.assertEquals(1, result.getTotalElements());
+        Assertions.assertEquals(1, result.getNumberOfElements());
+        Assertions.assertFalse(result.hasNext());
         Assertions.assertEquals(itemRequest.getId(), result.get().findFirst().get().getId());
     }
+
+    @Test
+    void findAllByRequesterIdNotWithUnalignedOffset() {
+        User other = userRepository.save(new User(null, "Other", "other@mail.ru"));
+        Instant created = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            ids.add(itemRequestRepository.save(new ItemRequest(null, "Request " + i, other, created.minusSeconds(i))).getId());
+        }
+
+        Slice<ItemRequest> result = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(
+                user.getId(), OffsetPageRequest.of(5, 10));
+        Assertions.assertEquals(ids.subList(5, 15), result.stream().map(ItemRequest::getId).toList());
+        Assertions.assertFalse(result.hasNext());
+        Assertions.assertTrue(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(
+                user.getId(), OffsetPageRequest.of(4, 10)).hasNext());
+    }
+
+    @Test
+    void findAllByRequesterIdNotScrollsByKeyset() {
+        User other = userRepository.save(new User(null, "Other", "other@mail.ru"));
+        Instant created = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        ItemRequest newest = itemRequestRepository.save(new ItemRequest(null, "Newest", other, created));
+        ItemRequest sameTime = itemRequestRepository.save(new ItemRequest(null, "Same time", other, created));
+        ItemRequest oldest = itemRequestRepository.save(new ItemRequest(null, "Oldest", other, created.minusSeconds(60)));
+
+        Window<ItemRequest> first = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(
+                user.getId(), ScrollPosition.keyset(), Limit.of(2));
+        Assertions.assertEquals(List.of(sameTime.getId(), newest.getId()),
+                first.stream().map(ItemRequest::getId).toList());
+        Assertions.assertTrue(first.hasNext());
+
+        Window<ItemRequest> second = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(
+                user.getId(), first.positionAt(first.size() - 1), Limit.of(2));
+        Assertions.assertEquals(List.of(oldest.getId()), second.stream().map(ItemRequest::getId).toList());
+        Assertions.assertFalse(second.hasNext());
+    }
 }
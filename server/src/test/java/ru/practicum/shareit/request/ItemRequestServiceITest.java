@@ -3,13 +3,17 @@ package ru.practicum.shareit.request;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PaginationException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -21,13 +25,16 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -96,15 +103,54 @@ public class ItemRequestServiceITest {
         int from = 0;
         int size = 10;
         ItemRequest itemRequest = new ItemRequest(1L, "Name", user, Instant.now());
-        Item item = new Item(1L, "Item", "Description", true, user, null);
+        Item item = new Item(1L, "Item", "Description", true, user, itemRequest);
 
-        when(itemRequestRepository.findAllByOrderByCreatedDesc(any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(itemRequest)));
-        when(itemRepository.findAllByRequestId(anyLong())).thenReturn(List.of(item));
+        when(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(eq(user.getId()), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(itemRequest)));
+        when(itemRepository.findAllByRequestIdIn(List.of(itemRequest.getId()))).thenReturn(List.of(item));
 
-        Page<ItemRequestDto> result = itemRequestService.getAllOthers(user.getId(), from, size);
+        Slice<ItemRequestDto> result = itemRequestService.getAllOthers(user.getId(), from, size);
         Assertions.assertNotNull(result);
-        verify(itemRequestRepository, times(1)).findAllByOrderByCreatedDesc(any());
+        Assertions.assertEquals(1, result.getContent().getFirst().getItems().size());
+        verify(itemRequestRepository, times(1))
+                .findAllByRequesterIdNotOrderByCreatedDescIdDesc(user.getId(), OffsetPageRequest.of(0, size));
+        verify(itemRepository, times(1)).findAllByRequestIdIn(any());
+        verify(itemRepository, never()).findAllByRequestId(anyLong());
+    }
+
+    @Test
+    void getAllOthersItemRequestsUsesRowOffset() {
+        when(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(eq(user.getId()), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        itemRequestService.getAllOthers(user.getId(), 5, 10);
+        verify(itemRequestRepository, times(1))
+                .findAllByRequesterIdNotOrderByCreatedDescIdDesc(user.getId(), OffsetPageRequest.of(5, 10));
+    }
+
+    @Test
+    void getAllOthersItemRequestsWithInvalidPagination() {
+        assertThrows(PaginationException.class, () -> itemRequestService.getAllOthers(user.getId(), -1, 10));
+        assertThrows(PaginationException.class, () -> itemRequestService.getAllOthers(user.getId(), 0, 0));
+        assertThrows(PaginationException.class,
+                () -> itemRequestService.getAllOthersAfter(user.getId(), ScrollPosition.keyset(), 0));
+        verifyNoInteractions(itemRequestRepository);
+    }
+
+    @Test
+    void getAllOthersItemRequestsAfterCursor() {
+        ItemRequest itemRequest = new ItemRequest(1L, "Name", user, Instant.now());
+        Item item = new Item(1L, "Item", "Description", true, user, itemRequest);
+        ScrollPosition position = ScrollPosition.forward(Map.of("created", itemRequest.getCreated(), "id", 1L));
+
+        when(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(eq(user.getId()), any(ScrollPosition.class), any()))
+                .thenReturn(Window.from(List.of(itemRequest), index -> position, true));
+        when(itemRepository.findAllByRequestIdIn(List.of(itemRequest.getId()))).thenReturn(List.of(item));
+
+        Window<ItemRequestDto> result = itemRequestService.getAllOthersAfter(user.getId(), ScrollPosition.keyset(), 1);
+        Assertions.assertTrue(result.hasNext());
+        Assertions.assertEquals(position, result.positionAt(0));
+        Assertions.assertEquals(1, result.getContent().getFirst().getItems().size());
     }
 
     @Test
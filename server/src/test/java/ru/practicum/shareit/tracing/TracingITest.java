@@ -0,0 +1,101 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.show-sql=false",
+        "management.tracing.sampling.probability=0"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+public class TracingITest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    void sampledRequestIsTracedThroughServiceRepositoryAndJdbc() throws Exception {
+        User user = userRepository.save(new User(null, "User", "user@mail.ru"));
+        spanExporter.reset();
+
+        mvc.perform(get("/users/{id}", user.getId())
+                        .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01"))
+                .andExpect(status().isOk());
+
+        List<SpanData> spans = finishedSpans();
+        Assertions.assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(TRACE_ID)));
+        SpanData server = span(spans, "http get /users/{id}");
+        SpanData service = span(spans, "UserServiceImpl.getById");
+        SpanData repository = span(spans, "UserRepository.findById");
+        SpanData query = span(spans, "query");
+        Assertions.assertEquals(GATEWAY_SPAN_ID, server.getParentSpanId());
+        Assertions.assertEquals(server.getSpanId(), service.getParentSpanId());
+        Assertions.assertEquals(service.getSpanId(), repository.getParentSpanId());
+        Assertions.assertEquals(repository.getSpanId(), query.getParentSpanId());
+    }
+
+    @Test
+    void unsampledRequestIsNotExported() throws Exception {
+        spanExporter.reset();
+
+        mvc.perform(get("/users")).andExpect(status().isOk());
+        mvc.perform(get("/users")
+                        .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-00"))
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals(List.of(), finishedSpans());
+    }
+
+    private List<SpanData> finishedSpans() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        return spanExporter.getFinishedSpanItems();
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Нет спана " + name + " среди "
+                        + spans.stream().map(SpanData::getName).toList()));
+    }
+
+    @TestConfiguration
+    static class SpanExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({UserServiceImpl.class, UserMapper.class})
+@MockBean({ItemDetailsCache.class, ItemSearchIndex.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserBatchInsertITest {
+    private static final int USERS = 120;
+
+    private final UserService userService;
+    private final EntityManager entityManager;
+
+    @Test
+    void createAllInsertsInJdbcBatches() {
+        List<UserDto> users = IntStream.range(0, USERS)
+                .mapToObj(i -> new UserDto(null, "User" + i, "user" + i + "@mail.ru"))
+                .toList();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<UserDto> created = userService.createAll(users);
+        entityManager.flush();
+
+        Assertions.assertEquals(USERS, created.stream().map(UserDto::getId).distinct().count());
+        Assertions.assertEquals(USERS, statistics.getEntityInsertCount());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() < 10,
+                "Подготовлено запросов: " + statistics.getPrepareStatementCount());
+    }
+}
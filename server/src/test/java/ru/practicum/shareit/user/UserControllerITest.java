@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -13,6 +14,7 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +26,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -45,6 +48,23 @@ public class UserControllerITest {
         verify(userService, times(1)).getById(userId);
     }
 
+    @Test
+    void getUserByIdWithMatchingEtagIsNotModified() throws Exception {
+        long userId = 1L;
+        when(userService.getById(userId)).thenReturn(new UserDto(userId, "Name", "email@mail.ru"));
+
+        String eTag = mockMvc.perform(get("/users/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/users/" + userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getAllUsers() throws Exception {
         when(userService.getAll()).thenReturn(Collections.emptyList());
@@ -74,6 +94,20 @@ public class UserControllerITest {
         verify(userService, times(1)).create(userDto);
     }
 
+    @Test
+    void createUsers() throws Exception {
+        List<UserDto> users = List.of(new UserDto(null, "First", "first@mail.ru"), new UserDto(null, "Second", "second@mail.ru"));
+        when(userService.createAll(users)).thenReturn(List.of(
+                new UserDto(1L, "First", "first@mail.ru"), new UserDto(2L, "Second", "second@mail.ru")));
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(users)))
+                .andExpect(status().isCreated())
+                .andExpect(content().json("[{\"id\": 1}, {\"id\": 2}]"));
+        verify(userService, times(1)).createAll(users);
+    }
+
     @Test
     void editUser() throws Exception {
         long userId = 1L;
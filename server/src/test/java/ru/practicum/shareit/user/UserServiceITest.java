@@ -3,6 +3,9 @@ package ru.practicum.shareit.user;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -16,6 +19,7 @@ import java.util.Optional;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,12 +27,18 @@ import static org.mockito.Mockito.when;
 public class UserServiceITest {
     private UserServiceImpl userService;
     private UserRepository userRepository;
+    private ItemRepository itemRepository;
+    private ItemDetailsCache itemDetailsCache;
+    private ItemSearchIndex itemSearchIndex;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
         UserMapper userMapper = new UserMapper();
-        userService = new UserServiceImpl(userRepository, userMapper);
+        itemRepository = mock(ItemRepository.class);
+        itemDetailsCache = mock(ItemDetailsCache.class);
+        itemSearchIndex = mock(ItemSearchIndex.class);
+        userService = new UserServiceImpl(userRepository, userMapper, itemRepository, itemDetailsCache, itemSearchIndex);
     }
 
     @Test
@@ -63,6 +73,18 @@ public class UserServiceITest {
         verify(userRepository, times(1)).save(user);
     }
 
+    @Test
+    void createUsers() {
+        List<UserDto> userDtos = List.of(new UserDto(null, "first", "first@mail.ru"), new UserDto(null, "second", "second@mail.ru"));
+        when(userRepository.saveAll(any())).thenReturn(List.of(
+                new User(1L, "first", "first@mail.ru"), new User(2L, "second", "second@mail.ru")));
+
+        List<UserDto> result = userService.createAll(userDtos);
+        Assertions.assertEquals(List.of(1L, 2L), result.stream().map(UserDto::getId).toList());
+        verify(userRepository, times(1)).saveAll(List.of(
+                new User(null, "first", "first@mail.ru"), new User(null, "second", "second@mail.ru")));
+    }
+
     @Test
     void editUser() {
         User user = new User(1L, "name", "desc");
@@ -72,6 +94,7 @@ public class UserServiceITest {
         UserDto result = userService.edit(user.getId(), Collections.emptyMap());
         Assertions.assertNotNull(result);
         verify(userRepository, times(1)).save(user);
+        verify(itemDetailsCache, never()).evictAll();
     }
 
     @Test
@@ -83,6 +106,7 @@ public class UserServiceITest {
         UserDto result = userService.edit(user.getId(), Map.of("name", "NewName"));
         Assertions.assertNotNull(result);
         verify(userRepository, times(1)).save(user);
+        verify(itemDetailsCache, times(1)).evictAll();
     }
 
     @Test
@@ -94,11 +118,16 @@ public class UserServiceITest {
         UserDto result = userService.edit(user.getId(), Map.of("email", "newmail@mail.ru"));
         Assertions.assertNotNull(result);
         verify(userRepository, times(1)).save(user);
+        verify(itemDetailsCache, times(1)).evictAll();
     }
 
     @Test
     void deleteUser() {
+        when(itemRepository.findIdsByOwnerIdOrRequesterId(1L)).thenReturn(List.of(3L, 4L));
+
         userService.delete(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(itemSearchIndex, times(1)).removeAll(List.of(3L, 4L));
+        verify(itemDetailsCache, times(1)).evictAll();
     }
 }
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.web;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+public class ResourceEtagFilterITest {
+    private static final byte[] BODY = "{\"id\":1}\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ResourceEtagFilter filter = new ResourceEtagFilter();
+
+    @Test
+    void addsEtagToResourceResponse() throws Exception {
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/items/1"));
+
+        Assertions.assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    void skipsNdjsonStream() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader(HttpHeaders.ACCEPT, "application/x-ndjson");
+
+        MockHttpServletResponse response = filter(request);
+
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    void skipsExport() throws Exception {
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/items/export"));
+
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void skipsBookings() throws Exception {
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/bookings"));
+
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> res.getOutputStream().write(BODY));
+        return response;
+    }
+}